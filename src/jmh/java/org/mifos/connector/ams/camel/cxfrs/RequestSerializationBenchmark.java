@@ -0,0 +1,87 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.MediaType;
+import org.mifos.connector.AmsConnectorApplication;
+import org.mifos.connector.common.ams.dto.TransferFspRequestDTO;
+import org.mifos.connector.common.mojaloop.dto.FspMoneyData;
+import org.mifos.connector.common.mojaloop.dto.TransactionType;
+import org.mifos.connector.common.mojaloop.type.InitiatorType;
+import org.mifos.connector.common.mojaloop.type.Scenario;
+import org.mifos.connector.common.mojaloop.type.TransactionRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Transfer request written to the connection as before, converted to a String by {@code pojoToString} and encoded by the
+ * CXF String provider, compared to {@link JacksonBodyWriter} writing the DTO into the request stream. Compare the
+ * {@code gc.alloc.rate.norm} (bytes per operation) of the two benchmarks.
+ *
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestSerializationBenchmark {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    private ObjectMapper objectMapper;
+    private JacksonBodyWriter bodyWriter;
+    private TransferFspRequestDTO transfer;
+    private OutputStream wire;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        objectMapper = new AmsConnectorApplication().objectMapper();
+        bodyWriter = new JacksonBodyWriter(objectMapper);
+
+        TransactionType transactionType = new TransactionType();
+        transactionType.setInitiator(TransactionRole.PAYER);
+        transactionType.setInitiatorType(InitiatorType.CONSUMER);
+        transactionType.setScenario(Scenario.PAYMENT);
+        transfer = new TransferFspRequestDTO(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "EXT-000012345",
+                new FspMoneyData(new BigDecimal("1250.75"), "USD"), new FspMoneyData(new BigDecimal("2.50"), "USD"),
+                new FspMoneyData(new BigDecimal("0.25"), "USD"), TransactionRole.PAYER, transactionType, "Invoice 2020-0117");
+
+        // stands in for the socket buffer, the written bytes are consumed so the serialization can't be optimized away
+        wire = new OutputStream() {
+
+            @Override
+            public void write(int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                blackhole.consume(b);
+            }
+        };
+    }
+
+    @Benchmark
+    public void viaString() throws IOException {
+        String body = objectMapper.writeValueAsString(transfer);
+        wire.write(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public void direct() throws IOException {
+        bodyWriter.writeTo(transfer, TransferFspRequestDTO.class, TransferFspRequestDTO.class, NO_ANNOTATIONS,
+                MediaType.APPLICATION_JSON_TYPE, null, wire);
+    }
+}
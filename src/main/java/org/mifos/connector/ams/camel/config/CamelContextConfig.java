@@ -4,6 +4,7 @@ import java.util.HashMap;
 import org.apache.camel.CamelContext;
 import org.apache.camel.spi.RestConfiguration;
 import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.mifos.connector.ams.camel.cxfrs.FineractResponseBody;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,6 +25,7 @@ public class CamelContextConfig {
                 camelContext.setMessageHistory(false);
                 camelContext.setStreamCaching(true);
                 camelContext.disableJMX();
+                FineractResponseBody.registerConverters(camelContext.getTypeConverterRegistry());
 
                 RestConfiguration rest = new RestConfiguration();
                 camelContext.setRestConfiguration(rest);
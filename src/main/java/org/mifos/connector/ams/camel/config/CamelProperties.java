@@ -5,10 +5,12 @@ public final class CamelProperties {
     private CamelProperties() {}
 
     public static final String CLIENT_ID = "clientId";
+    public static final String CLIENT_IMAGE = "clientImage";
     public static final String IDENTIFIER_ID = "identifierId";
     public static final String CONTINUE_PROCESSING = "continueProcessing";
     public static final String DEFINITON_ID = "definitonId";
     public static final String EXISTING_EXTERNAL_ACCOUNT_ID = "existingExternalAccountId";
+    public static final String EXTERNAL_ACCOUNT_REUSED = "externalAccountReused";
     public static final String INTEROP_ACCOUNT_TO_REGISTER = "interopAccountId";
     public static final String LOGIN_USERNAME = "loginUsername";
     public static final String LOGIN_PASSWORD = "loginPassword";
@@ -21,4 +23,8 @@ public final class CamelProperties {
     public static final String IS_ERROR_SET_MANUALLY = "isErrorSetManually";
     public static final String X_CALLBACKURL = "X-CallbackURL";
 
+    public static final String AMS_CALL_DEFERRED = "amsCallDeferred";
+    public static final String AMS_CALL_ENDPOINT = "amsCallEndpoint";
+    public static final String AMS_CALL_PATTERN = "amsCallPattern";
+
 }
@@ -0,0 +1,160 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import static org.mifos.connector.ams.camel.config.CamelProperties.AMS_CALL_DEFERRED;
+import static org.mifos.connector.ams.camel.config.CamelProperties.AMS_CALL_ENDPOINT;
+import static org.mifos.connector.ams.camel.config.CamelProperties.AMS_CALL_PATTERN;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import javax.annotation.PostConstruct;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.Processor;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.service.ServiceHelper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Non-blocking AMS calls, enabled with {@code ams.local.async.enabled}. The AMS service method only prepares the request, the
+ * cxfrs producer sends it asynchronously and the rest of the route continues on the thread receiving the Fineract response.
+ *
+ * <p>
+ * The job handler returns once its exchange is dispatched, so the Zeebe client no longer counts the job against
+ * {@code maxJobsActive}. At most {@code ams.local.async.max-in-flight} job exchanges are routed at a time, further job handlers
+ * wait for a permit in {@link #dispatchJob}, which holds back the activation of more jobs while Fineract is slow.
+ */
+@Component
+public class AmsCallDispatcher {
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @Autowired
+    private FineractCallStats fineractCallStats;
+
+    @Autowired
+    private FineractHttp2Transport http2Transport;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FineractGetCoalescer getCoalescer;
+
+    @Value("${ams.local.async.enabled:false}")
+    private boolean asyncEnabled;
+
+    @Value("${ams.local.async.max-in-flight:200}")
+    private int maxInFlight;
+
+    private final Map<String, AsyncProducer> producers = new ConcurrentHashMap<>();
+    private Semaphore permits;
+
+    @PostConstruct
+    public void setup() {
+        permits = new Semaphore(maxInFlight);
+        Gauge.builder("fineract.async.jobs.inflight", permits, p -> maxInFlight - p.availablePermits())
+                .description("Job exchanges routed with non-blocking AMS calls").register(meterRegistry);
+    }
+
+    public boolean isAsyncEnabled() {
+        return asyncEnabled;
+    }
+
+    /**
+     * Wraps an AMS service call, e.g. {@code amsService::sendTransfer}. In synchronous mode the call is returned unchanged.
+     */
+    public Processor deferred(Processor amsCall) {
+        if (!asyncEnabled) {
+            return amsCall;
+        }
+        return new AsyncProcessorSupport() {
+
+            @Override
+            public boolean process(Exchange exchange, AsyncCallback callback) {
+                exchange.setProperty(AMS_CALL_DEFERRED, true);
+                try {
+                    amsCall.process(exchange);
+                } catch (Exception e) {
+                    exchange.setException(e);
+                    callback.done(true);
+                    return true;
+                } finally {
+                    exchange.removeProperty(AMS_CALL_DEFERRED);
+                }
+
+                String endpoint = (String) exchange.removeProperty(AMS_CALL_ENDPOINT);
+                if (endpoint == null) { // nothing was sent through CxfrsUtil
+                    callback.done(true);
+                    return true;
+                }
+                ExchangePattern oldPattern = (ExchangePattern) exchange.removeProperty(AMS_CALL_PATTERN);
+                AsyncCallback done = doneSync -> {
+                    exchange.setPattern(oldPattern);
+                    callback.done(doneSync);
+                };
+                if (getCoalescer.coalesces(exchange)) {
+                    return getCoalescer.sendAsync(endpoint, exchange, done, AmsCallDispatcher.this::dispatchCounted);
+                }
+                return dispatchCounted(endpoint, exchange, done);
+            }
+        };
+    }
+
+    private boolean dispatchCounted(String endpoint, Exchange exchange, AsyncCallback callback) {
+        long start = fineractCallStats.start(endpoint);
+        return dispatch(endpoint, exchange, doneSync -> {
+            fineractCallStats.finish(endpoint, start);
+            callback.done(doneSync);
+        });
+    }
+
+    /**
+     * {@link #dispatch} of the exchange of a job, called on the job handler thread. Waits for one of the
+     * {@code ams.local.async.max-in-flight} permits, released when the exchange is done. Never call it from a thread
+     * receiving Fineract responses, waiting there would hold up the exchanges returning the permits.
+     */
+    public boolean dispatchJob(String endpoint, Exchange exchange, AsyncCallback callback) {
+        permits.acquireUninterruptibly();
+        try {
+            return dispatch(endpoint, exchange, doneSync -> {
+                permits.release();
+                callback.done(doneSync);
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the exchange to the endpoint without waiting for it, the callback is invoked once the exchange is done.
+     */
+    public boolean dispatch(String endpoint, Exchange exchange, AsyncCallback callback) {
+        if (http2Transport.handles(endpoint)) {
+            return http2Transport.sendAsync(endpoint, exchange, callback);
+        }
+        return producer(endpoint).process(exchange, callback);
+    }
+
+    private AsyncProducer producer(String endpoint) {
+        return producers.computeIfAbsent(endpoint, uri -> {
+            try {
+                AsyncProducer producer = camelContext.getEndpoint(uri).createAsyncProducer();
+                ServiceHelper.startService(producer);
+                return producer;
+            } catch (Exception e) {
+                throw new RuntimeCamelException("Could not create producer for " + uri, e);
+            }
+        });
+    }
+}
@@ -5,15 +5,23 @@ import org.apache.camel.Exchange;
 import org.apache.camel.component.cxf.jaxrs.DefaultCxfRsBinding;
 import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.jaxrs.impl.ResponseImpl;
+import org.mifos.connector.ams.properties.FineractHttpProperties;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class CfxRsNotStreamingBinding extends DefaultCxfRsBinding {
 
+    @Autowired
+    private FineractHttpProperties properties;
+
     @Override
     public Object bindResponseToCamelBody(Object response, Exchange camelExchange) throws Exception {
         if (response instanceof ResponseImpl && ((ResponseImpl) response).getEntity() instanceof InputStream) {
             InputStream inputStream = (InputStream) ((ResponseImpl) response).getEntity();
+            if (properties.isStreamResponses()) {
+                return FineractResponseBody.bind(inputStream, camelExchange);
+            }
             return IOUtils.toString(inputStream);
         }
         return super.bindResponseToCamelBody(response, camelExchange);
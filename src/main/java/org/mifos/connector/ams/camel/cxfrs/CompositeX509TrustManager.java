@@ -5,17 +5,34 @@ import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 import javax.net.ssl.X509TrustManager;
 
+/**
+ * Trusts a certificate chain trusted by any of the trust managers. Server chains can be remembered as trusted for up to
+ * {@code trustCacheTtlMs}, or until a certificate of the chain expires, so repeated handshakes with the same Fineract host skip
+ * the verification by each trust manager.
+ */
 public class CompositeX509TrustManager implements X509TrustManager {
 
     private final List<X509TrustManager> trustManagers;
     private boolean checkServerCert;
+    private final int trustCacheSize;
+    private final long trustCacheTtlMs;
+    private final Map<List<Object>, Long> trustedServerChains = new ConcurrentHashMap<>();
 
     public CompositeX509TrustManager(List<X509TrustManager> trustManagers, boolean checkServerCert) {
+        this(trustManagers, checkServerCert, 0, 0);
+    }
+
+    public CompositeX509TrustManager(List<X509TrustManager> trustManagers, boolean checkServerCert, int trustCacheSize,
+            long trustCacheTtlMs) {
         this.trustManagers = Collections.unmodifiableList(new ArrayList<>(trustManagers));
         this.checkServerCert = checkServerCert;
+        this.trustCacheSize = trustCacheSize;
+        this.trustCacheTtlMs = trustCacheTtlMs;
     }
 
     @Override
@@ -34,9 +51,20 @@ public class CompositeX509TrustManager implements X509TrustManager {
     @Override
     public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
         if (checkServerCert) {
+            List<Object> cacheKey = trustCacheSize > 0 ? cacheKey(chain, authType) : null;
+            long now = System.currentTimeMillis();
+            if (cacheKey != null) {
+                Long trustedUntil = trustedServerChains.get(cacheKey);
+                if (trustedUntil != null && trustedUntil > now) {
+                    return;
+                }
+            }
             for (X509TrustManager trustManager : trustManagers) {
                 try {
                     trustManager.checkServerTrusted(chain, authType);
+                    if (cacheKey != null) {
+                        rememberTrusted(cacheKey, chain, now);
+                    }
                     return; // someone trusts them. success!
                 } catch (CertificateException e) {
                     // maybe someone else will trust them
@@ -46,6 +74,24 @@ public class CompositeX509TrustManager implements X509TrustManager {
         }
     }
 
+    private void rememberTrusted(List<Object> cacheKey, X509Certificate[] chain, long now) {
+        long trustedUntil = now + trustCacheTtlMs;
+        for (X509Certificate certificate : chain) {
+            trustedUntil = Math.min(trustedUntil, certificate.getNotAfter().getTime());
+        }
+        if (trustedServerChains.size() >= trustCacheSize) {
+            trustedServerChains.clear();
+        }
+        trustedServerChains.put(cacheKey, trustedUntil);
+    }
+
+    private static List<Object> cacheKey(X509Certificate[] chain, String authType) {
+        List<Object> key = new ArrayList<>(chain.length + 1);
+        key.add(authType);
+        Collections.addAll(key, chain);
+        return key;
+    }
+
     @Override
     public X509Certificate[] getAcceptedIssuers() {
         return trustManagers.stream().flatMap(it -> Stream.of(it.getAcceptedIssuers())).toArray(X509Certificate[]::new);
@@ -1,5 +1,9 @@
 package org.mifos.connector.ams.camel.cxfrs;
 
+import static org.mifos.connector.ams.camel.config.CamelProperties.AMS_CALL_DEFERRED;
+import static org.mifos.connector.ams.camel.config.CamelProperties.AMS_CALL_ENDPOINT;
+import static org.mifos.connector.ams.camel.config.CamelProperties.AMS_CALL_PATTERN;
+
 import java.util.Map;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
@@ -13,8 +17,18 @@ public class CxfrsUtil {
     @Autowired
     private ProducerTemplate template;
 
+    @Autowired
+    private FineractCallStats fineractCallStats;
+
+    @Autowired
+    private FineractHttp2Transport http2Transport;
+
+    @Autowired
+    private FineractGetCoalescer getCoalescer;
+
     /**
-     * Warning! Clears IN headers.
+     * Warning! Clears IN headers. When called through {@link AmsCallDispatcher#deferred} only the request is prepared, the
+     * dispatcher sends it.
      */
     public void sendInOut(String endpoint, Exchange ex, Map<String, Object> headers, Object body) {
         ExchangePattern oldPattern = ex.getPattern();
@@ -24,7 +38,29 @@ public class CxfrsUtil {
         ex.getIn().removeHeaders("*");
         ex.getIn().setHeaders(headers);
         ex.setPattern(ExchangePattern.InOut);
-        template.send(endpoint, ex);
+        if (ex.getProperty(AMS_CALL_DEFERRED, false, Boolean.class)) {
+            ex.setProperty(AMS_CALL_ENDPOINT, endpoint);
+            ex.setProperty(AMS_CALL_PATTERN, oldPattern);
+            return;
+        }
+        if (getCoalescer.coalesces(ex)) {
+            getCoalescer.send(endpoint, ex, exchange -> send(endpoint, exchange));
+        } else {
+            send(endpoint, ex);
+        }
         ex.setPattern(oldPattern);
     }
+
+    private void send(String endpoint, Exchange ex) {
+        long start = fineractCallStats.start(endpoint);
+        try {
+            if (http2Transport.handles(endpoint)) {
+                http2Transport.send(endpoint, ex);
+            } else {
+                template.send(endpoint, ex);
+            }
+        } finally {
+            fineractCallStats.finish(endpoint, start);
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency and concurrency of the requests sent to Fineract, sync and async.
+ */
+@Component
+public class FineractCallStats {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, AtomicInteger> inFlightByEndpoint = new ConcurrentHashMap<>();
+    private Timer latency;
+
+    private final LongAdder windowNanos = new LongAdder();
+    private final LongAdder windowCalls = new LongAdder();
+
+    @PostConstruct
+    public void setup() {
+        latency = Timer.builder("fineract.call.latency").description("Round trip of requests sent to Fineract").register(meterRegistry);
+        Gauge.builder("fineract.call.inflight", inFlight, AtomicInteger::get).description("Requests waiting for a Fineract response")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the start time to pass to {@link #finish(String, long)}
+     */
+    public long start(String endpoint) {
+        inFlight.incrementAndGet();
+        endpointInFlight(endpoint).incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void finish(String endpoint, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        inFlight.decrementAndGet();
+        endpointInFlight(endpoint).decrementAndGet();
+        latency.record(elapsed, TimeUnit.NANOSECONDS);
+        windowNanos.add(elapsed);
+        windowCalls.increment();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int inFlight(String endpoint) {
+        return endpointInFlight(endpoint).get();
+    }
+
+    /**
+     * Average latency since the previous call in nanoseconds, or -1 if no request finished in between. Read by the single
+     * thread of {@link org.mifos.connector.ams.zeebe.AdaptiveActivationController}, a request finishing while the window is
+     * reset may be counted in the next one.
+     */
+    public long drainAverageNanos() {
+        long calls = windowCalls.sumThenReset();
+        long nanos = windowNanos.sumThenReset();
+        return calls == 0 ? -1 : nanos / calls;
+    }
+
+    private AtomicInteger endpointInFlight(String endpoint) {
+        return inFlightByEndpoint.computeIfAbsent(endpoint, e -> new AtomicInteger());
+    }
+}
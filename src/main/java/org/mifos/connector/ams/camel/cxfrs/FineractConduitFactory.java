@@ -0,0 +1,142 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.cxf.Bus;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.transport.http.HTTPConduit;
+import org.apache.cxf.transport.http.HTTPConduitConfigurer;
+import org.apache.cxf.transport.http.HTTPConduitFactory;
+import org.apache.cxf.transport.http.HTTPTransportFactory;
+import org.apache.cxf.transport.http.URLConnectionHTTPConduit;
+import org.apache.cxf.transport.http.asyncclient.AsyncHTTPConduitFactory;
+import org.apache.cxf.transports.http.configuration.ConnectionType;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
+import org.apache.cxf.ws.addressing.EndpointReferenceType;
+import org.mifos.connector.ams.properties.FineractHttpProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * HTTP client settings of the Fineract endpoints, configured under {@code ams.local.http}. With {@code pooled} enabled each host
+ * of the endpoints listed under {@code pools} gets a keep-alive connection pool, shared by sync and async calls, so a request
+ * reuses an open TLS connection instead of doing a handshake. Conduits are created per address, not per endpoint, so endpoints
+ * with the same host share the pool and the limits of the endpoint listed first.
+ */
+@Component
+public class FineractConduitFactory implements HTTPConduitFactory, HTTPConduitConfigurer {
+
+    private static final String ENDPOINT_PREFIX = "cxfrs:bean:ams.local.";
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private Bus bus;
+
+    @Autowired
+    private FineractHttpProperties properties;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private FineractCallStats fineractCallStats;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, AsyncHTTPConduitFactory> poolsByHost = new LinkedHashMap<>();
+    private final Map<String, List<String>> endpointsByHost = new HashMap<>();
+    private HTTPConduitFactory busConduitFactory;
+
+    @PostConstruct
+    public void setup() {
+        busConduitFactory = bus.getExtension(HTTPConduitFactory.class);
+        if (properties.isPooled()) {
+            properties.getPools().forEach(this::createPool);
+        }
+        bus.setExtension(this, HTTPConduitFactory.class);
+        bus.setExtension(this, HTTPConduitConfigurer.class);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poolsByHost.values().forEach(AsyncHTTPConduitFactory::shutdown);
+    }
+
+    /**
+     * Connection pool with the given limits, used for sync and async requests.
+     */
+    public static AsyncHTTPConduitFactory poolFactory(FineractHttpProperties.Pool pool) {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(AsyncHTTPConduitFactory.USE_POLICY, "ALWAYS");
+        settings.put(AsyncHTTPConduitFactory.MAX_CONNECTIONS, String.valueOf(pool.getMaxConnections()));
+        settings.put(AsyncHTTPConduitFactory.MAX_PER_HOST_CONNECTIONS, String.valueOf(pool.getMaxConnections()));
+        settings.put(AsyncHTTPConduitFactory.CONNECTION_MAX_IDLE, String.valueOf(pool.getMaxIdleMs()));
+        settings.put(AsyncHTTPConduitFactory.CONNECTION_TTL, String.valueOf(pool.getTtlMs()));
+        settings.put(AsyncHTTPConduitFactory.SO_KEEPALIVE, String.valueOf(pool.isSoKeepAlive()));
+        return new PooledConduitFactory(settings);
+    }
+
+    @Override
+    public HTTPConduit createConduit(HTTPTransportFactory transportFactory, Bus conduitBus, EndpointInfo endpointInfo,
+            EndpointReferenceType target) throws IOException {
+        String address = endpointInfo.getAddress();
+        for (Map.Entry<String, AsyncHTTPConduitFactory> pool : poolsByHost.entrySet()) {
+            if (address != null && address.startsWith(pool.getKey())) {
+                return pool.getValue().createConduit(transportFactory, conduitBus, endpointInfo, target);
+            }
+        }
+        if (busConduitFactory != null) {
+            return busConduitFactory.createConduit(transportFactory, conduitBus, endpointInfo, target);
+        }
+        return new URLConnectionHTTPConduit(conduitBus, endpointInfo, target);
+    }
+
+    /**
+     * Applied to every conduit, the {@code http:conduit} of endpoints.xml only adds the TLS settings.
+     */
+    @Override
+    public void configure(String name, String address, HTTPConduit conduit) {
+        HTTPClientPolicy client = conduit.getClient();
+        client.setMaxRetransmits(properties.getMaxRetransmits());
+        client.setAllowChunking(properties.isAllowChunking());
+        client.setChunkingThreshold(properties.getChunkingThreshold());
+        client.setConnection(properties.isKeepAlive() ? ConnectionType.KEEP_ALIVE : ConnectionType.CLOSE);
+        client.setConnectionTimeout(properties.getConnectionTimeoutMs());
+        client.setReceiveTimeout(properties.getReceiveTimeoutMs());
+    }
+
+    private void createPool(String endpoint, FineractHttpProperties.Pool pool) {
+        String host = environment.getProperty("ams.local." + endpoint + ".host");
+        if (host == null) {
+            logger.warn("No ams.local.{}.host configured, connection pool of {} not created", endpoint, endpoint);
+            return;
+        }
+        List<String> endpoints = endpointsByHost.computeIfAbsent(host, h -> new CopyOnWriteArrayList<>());
+        endpoints.add(ENDPOINT_PREFIX + endpoint);
+        if (poolsByHost.containsKey(host)) {
+            logger.info("Endpoint {} uses the connection pool already created for {}", endpoint, host);
+            return;
+        }
+        logger.info("Connection pool for {} at {} with max {} connections", endpoint, host, pool.getMaxConnections());
+        poolsByHost.put(host, poolFactory(pool));
+
+        // every endpoint of the host borrows from the pool
+        Gauge.builder("fineract.http.pool.utilization",
+                () -> (double) endpoints.stream().mapToInt(fineractCallStats::inFlight).sum() / pool.getMaxConnections())
+                .tag("host", host).description("Requests in flight per pooled connection, above 1 requests wait for a connection")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,201 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import static org.apache.camel.Exchange.HTTP_METHOD;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.RuntimeCamelException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single flight of identical Fineract GETs, enabled with {@code ams.local.http.coalesce-gets}. A GET sent while the same
+ * request, same endpoint and headers including path and tenant, is waiting for its response is not sent again, it gets a
+ * copy of that response. The shared response body is read into memory, requests without followers keep their body as
+ * received. Followers are counted by {@code fineract.call.coalesced}.
+ */
+@Component
+public class FineractGetCoalescer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ams.local.http.coalesce-gets:false}")
+    private boolean enabled;
+
+    private final Map<List<Object>, Flight> flights = new ConcurrentHashMap<>();
+
+    public boolean coalesces(Exchange exchange) {
+        return enabled && "GET".equals(exchange.getIn().getHeader(HTTP_METHOD));
+    }
+
+    /**
+     * Sends the request with the call or waits for the response of the identical request in flight.
+     */
+    public void send(String endpoint, Exchange exchange, Consumer<Exchange> call) {
+        List<Object> key = key(endpoint, exchange);
+        Flight flight = new Flight();
+        Flight leading = flights.putIfAbsent(key, flight);
+        if (leading != null) {
+            if (leading.join()) {
+                try {
+                    leading.response.join().applyTo(exchange);
+                } catch (CompletionException e) {
+                    exchange.setException(e.getCause());
+                }
+                coalesced(endpoint);
+            } else {
+                call.accept(exchange);
+            }
+            return;
+        }
+        try {
+            call.accept(exchange);
+        } catch (RuntimeException e) {
+            land(key, flight, null, e);
+            throw e;
+        }
+        land(key, flight, exchange, null);
+    }
+
+    /**
+     * Asynchronous {@link #send}, followers continue on the thread receiving the response.
+     */
+    public boolean sendAsync(String endpoint, Exchange exchange, AsyncCallback callback, AsyncCall call) {
+        List<Object> key = key(endpoint, exchange);
+        Flight flight = new Flight();
+        Flight leading = flights.putIfAbsent(key, flight);
+        if (leading != null) {
+            if (!leading.join()) {
+                return call.send(endpoint, exchange, callback);
+            }
+            leading.response.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    response.applyTo(exchange);
+                } else {
+                    exchange.setException(failure instanceof CompletionException ? failure.getCause() : failure);
+                }
+                coalesced(endpoint);
+                callback.done(false);
+            });
+            return false;
+        }
+        try {
+            return call.send(endpoint, exchange, doneSync -> {
+                land(key, flight, exchange, null);
+                callback.done(doneSync);
+            });
+        } catch (RuntimeException e) {
+            land(key, flight, null, e);
+            throw e;
+        }
+    }
+
+    private void land(List<Object> key, Flight flight, Exchange exchange, RuntimeException failure) {
+        flights.remove(key, flight);
+        if (flight.close() == 0) {
+            return;
+        }
+        if (failure != null) {
+            flight.response.completeExceptionally(failure);
+            return;
+        }
+        try {
+            flight.response.complete(Response.of(exchange));
+        } catch (IOException e) {
+            RuntimeCamelException readFailure = new RuntimeCamelException("Could not read the Fineract response", e);
+            exchange.setException(readFailure);
+            flight.response.completeExceptionally(readFailure);
+        }
+    }
+
+    private void coalesced(String endpoint) {
+        meterRegistry.counter("fineract.call.coalesced", "endpoint", endpoint).increment();
+    }
+
+    private static List<Object> key(String endpoint, Exchange exchange) {
+        return List.of(endpoint, new HashMap<>(exchange.getIn().getHeaders()));
+    }
+
+    /**
+     * {@link AmsCallDispatcher#dispatch} of the request.
+     */
+    @FunctionalInterface
+    public interface AsyncCall {
+
+        boolean send(String endpoint, Exchange exchange, AsyncCallback callback);
+    }
+
+    private static final class Flight {
+
+        private final CompletableFuture<Response> response = new CompletableFuture<>();
+        private int followers;
+        private boolean closed;
+
+        /**
+         * @return false if the response already arrived, the follower has to send the request itself
+         */
+        private synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        private synchronized int close() {
+            closed = true;
+            return followers;
+        }
+    }
+
+    private static final class Response {
+
+        private final Map<String, Object> headers;
+        private final byte[] body;
+        private final Exception exception;
+
+        private Response(Map<String, Object> headers, byte[] body, Exception exception) {
+            this.headers = headers;
+            this.body = body;
+            this.exception = exception;
+        }
+
+        /**
+         * Reads the response body into memory, the body of the exchange is replaced by the bytes read.
+         */
+        private static Response of(Exchange exchange) throws IOException {
+            Message message = exchange.getMessage();
+            byte[] body = null;
+            try (InputStream in = message.getBody(InputStream.class)) {
+                if (in != null) {
+                    body = in.readAllBytes();
+                }
+            }
+            message.setBody(body);
+            return new Response(new HashMap<>(message.getHeaders()), body, exchange.getException());
+        }
+
+        private void applyTo(Exchange exchange) {
+            Message message = exchange.getMessage();
+            message.removeHeaders("*");
+            message.setHeaders(new HashMap<>(headers));
+            message.setBody(body);
+            if (exception != null) {
+                exchange.setException(exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import static org.mifos.connector.ams.camel.cxfrs.HeaderBasedInterceptor.CXF_TRACE_HEADER;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.component.cxf.common.message.CxfConstants;
+import org.apache.camel.support.jsse.SSLContextParameters;
+import org.apache.cxf.jaxrs.AbstractJAXRSFactoryBean;
+import org.mifos.connector.ams.properties.FineractHttpProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * HTTP/2 transport of the Fineract calls, enabled with {@code ams.local.http.http2.enabled}. Instead of the cxfrs producer
+ * the request is sent with the JDK HTTP client, which multiplexes the requests to a host over one connection per client. TLS
+ * hosts not negotiating h2 through ALPN, and plain HTTP hosts refusing the h2c upgrade, are called over HTTP/1.1.
+ *
+ * <p>
+ * The request is built from the same headers as for the cxfrs endpoint and the response is bound the same way as by
+ * {@link CfxRsNotStreamingBinding}, so the routes don't know which transport was used. Like the CXF conduit the Fineract
+ * certificate and its host name are only verified with {@code ams.local.server-cert-check}.
+ */
+@Component
+public class FineractHttp2Transport {
+
+    private static final String ENDPOINT_PREFIX = "cxfrs:bean:";
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private FineractHttpProperties properties;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @Autowired(required = false)
+    private SSLContextParameters sslContextParameters;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Optional<String>> addresses = new ConcurrentHashMap<>();
+    private final Map<HttpClient.Version, Counter> responsesByVersion = new ConcurrentHashMap<>();
+    private final AtomicInteger nextClient = new AtomicInteger();
+    private HttpClient[] clients;
+
+    @PostConstruct
+    public void setup() throws Exception {
+        FineractHttpProperties.Http2 http2 = properties.getHttp2();
+        if (!http2.isEnabled()) {
+            return;
+        }
+        clients = new HttpClient[http2.getConnections()];
+        for (int i = 0; i < clients.length; i++) {
+            HttpClient.Builder builder = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(Duration.ofMillis(properties.getConnectionTimeoutMs()));
+            if (sslContextParameters != null) {
+                builder.sslContext(sslContextParameters.createSSLContext(camelContext));
+            }
+            clients[i] = builder.build();
+        }
+        logger.info("Fineract calls sent over HTTP/2 with {} connections per host", clients.length);
+    }
+
+    /**
+     * Whether the endpoint, e.g. {@code cxfrs:bean:ams.local.interop}, is called over this transport.
+     */
+    public boolean handles(String endpoint) {
+        return clients != null && address(endpoint).isPresent();
+    }
+
+    /**
+     * Sends the request prepared by {@link CxfrsUtil#sendInOut} and waits for the response.
+     */
+    public void send(String endpoint, Exchange exchange) {
+        try {
+            bindResponse(exchange, client().send(createRequest(endpoint, exchange), bodyHandler()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.setException(e);
+        } catch (Exception e) {
+            exchange.setException(e);
+        }
+    }
+
+    /**
+     * Sends the request without waiting, the callback is invoked on the thread receiving the response.
+     */
+    public boolean sendAsync(String endpoint, Exchange exchange, AsyncCallback callback) {
+        CompletableFuture<? extends HttpResponse<?>> response;
+        try {
+            response = client().sendAsync(createRequest(endpoint, exchange), bodyHandler());
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        response.whenComplete((result, error) -> {
+            if (error != null) {
+                exchange.setException(error instanceof CompletionException ? error.getCause() : error);
+            } else {
+                bindResponse(exchange, result);
+            }
+            callback.done(false);
+        });
+        return false;
+    }
+
+    private HttpResponse.BodyHandler<?> bodyHandler() {
+        return properties.isStreamResponses() ? HttpResponse.BodyHandlers.ofInputStream() : HttpResponse.BodyHandlers.ofString();
+    }
+
+    private HttpClient client() {
+        return clients[Math.floorMod(nextClient.getAndIncrement(), clients.length)];
+    }
+
+    private Optional<String> address(String endpoint) {
+        return addresses.computeIfAbsent(endpoint, uri -> {
+            if (!uri.startsWith(ENDPOINT_PREFIX)) {
+                return Optional.empty();
+            }
+            String beanName = uri.substring(ENDPOINT_PREFIX.length());
+            if (!applicationContext.containsBean(beanName)) {
+                return Optional.empty();
+            }
+            String address = applicationContext.getBean(beanName, AbstractJAXRSFactoryBean.class).getAddress();
+            return Optional.of(camelContext.resolvePropertyPlaceholders(address));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpRequest createRequest(String endpoint, Exchange exchange) throws JsonProcessingException {
+        Message in = exchange.getIn();
+        StringBuilder uri = new StringBuilder(address(endpoint).get()).append(in.getHeader(Exchange.HTTP_PATH, "", String.class));
+        Map<String, String> queryMap = in.getHeader(CxfConstants.CAMEL_CXF_RS_QUERY_MAP, Map.class);
+        if (queryMap != null && !queryMap.isEmpty()) {
+            uri.append('?').append(queryMap.entrySet().stream().map(it -> encode(it.getKey()) + "=" + encode(it.getValue()))
+                    .collect(Collectors.joining("&")));
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri.toString()))
+                .timeout(Duration.ofMillis(properties.getReceiveTimeoutMs()))
+                .method(in.getHeader(Exchange.HTTP_METHOD, "GET", String.class), bodyPublisher(in.getBody()));
+        in.getHeaders().forEach((name, value) -> {
+            if (value != null && isHttpHeader(name)) {
+                request.header(name, value.toString());
+            }
+        });
+        return request.build();
+    }
+
+    /**
+     * Request DTOs are serialized to bytes, the JDK client publishes the body from memory.
+     */
+    private HttpRequest.BodyPublisher bodyPublisher(Object body) throws JsonProcessingException {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof String) {
+            return HttpRequest.BodyPublishers.ofString((String) body, StandardCharsets.UTF_8);
+        }
+        if (body instanceof byte[]) {
+            return HttpRequest.BodyPublishers.ofByteArray((byte[]) body);
+        }
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private boolean isHttpHeader(String name) {
+        return !name.startsWith("Camel") && !name.startsWith("camel") && !name.equals(CXF_TRACE_HEADER)
+                && !RESTRICTED_HEADERS.contains(name.toLowerCase());
+    }
+
+    private void bindResponse(Exchange exchange, HttpResponse<?> response) {
+        responsesByVersion.computeIfAbsent(response.version(), version -> Counter.builder("fineract.http.responses")
+                .tag("version", version.name()).description("Fineract responses by negotiated HTTP version").register(meterRegistry))
+                .increment();
+        logger.debug("{} {} returned {} over {}", response.request().method(), response.uri(), response.statusCode(),
+                response.version());
+
+        Message out = exchange.getMessage();
+        out.setBody(response.body() instanceof InputStream ? FineractResponseBody.bind((InputStream) response.body(), exchange)
+                : response.body());
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                out.setHeader(name, values.size() == 1 ? values.get(0) : List.copyOf(values));
+            }
+        });
+        out.setHeader(Exchange.HTTP_RESPONSE_CODE, response.statusCode());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
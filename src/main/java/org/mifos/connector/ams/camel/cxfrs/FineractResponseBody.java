@@ -0,0 +1,121 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.apache.camel.support.TypeConverterSupport;
+import org.apache.cxf.helpers.IOUtils;
+
+/**
+ * Fineract response body still on the connection, bound with {@code ams.local.http.stream-responses}. Converting it to an
+ * {@link InputStream}, as {@code .unmarshal().json(...)} does, hands the connection stream to Jackson, so the response is
+ * parsed without being copied. The text is read only when a processor converts the body to a String, it is kept for later
+ * conversions.
+ *
+ * <p>
+ * Not being an {@link InputStream} itself the body is not copied by stream caching. The connection stream is closed when the
+ * exchange is done, read or not.
+ */
+public class FineractResponseBody implements Closeable {
+
+    private final InputStream stream;
+    private String text;
+    private boolean consumed;
+
+    public FineractResponseBody(InputStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Wraps the response stream, closing it once the exchange is done.
+     */
+    public static FineractResponseBody bind(InputStream stream, Exchange exchange) {
+        FineractResponseBody body = new FineractResponseBody(stream);
+        exchange.adapt(ExtendedExchange.class).addOnCompletion(new SynchronizationAdapter() {
+
+            @Override
+            public void onDone(Exchange done) {
+                body.close();
+            }
+        });
+        return body;
+    }
+
+    /**
+     * Lets Camel convert the body to a String, byte array or stream.
+     */
+    public static void registerConverters(TypeConverterRegistry registry) {
+        registry.addTypeConverter(String.class, FineractResponseBody.class, new Converter());
+        registry.addTypeConverter(byte[].class, FineractResponseBody.class, new Converter());
+        registry.addTypeConverter(InputStream.class, FineractResponseBody.class, new Converter());
+    }
+
+    /**
+     * The connection stream on the first call, the read text after {@link #asString()}.
+     *
+     * @throws IllegalStateException
+     *             if the stream was already handed out
+     */
+    public synchronized InputStream openStream() {
+        if (text != null) {
+            return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+        }
+        if (consumed) {
+            throw new IllegalStateException("Fineract response was already read as a stream");
+        }
+        consumed = true;
+        return stream;
+    }
+
+    public synchronized String asString() {
+        if (text == null) {
+            try {
+                text = IOUtils.toString(openStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            close();
+        }
+        return text;
+    }
+
+    @Override
+    public void close() {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            // connection is discarded
+        }
+    }
+
+    /**
+     * The read text, or a placeholder while the body was not read as a String, so logging the body never consumes the stream.
+     */
+    @Override
+    public synchronized String toString() {
+        return text != null ? text : "[streamed body]";
+    }
+
+    private static final class Converter extends TypeConverterSupport {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            FineractResponseBody body = (FineractResponseBody) value;
+            if (type == InputStream.class) {
+                return (T) body.openStream();
+            }
+            if (type == byte[].class) {
+                return (T) body.asString().getBytes(StandardCharsets.UTF_8);
+            }
+            return (T) body.asString();
+        }
+    }
+}
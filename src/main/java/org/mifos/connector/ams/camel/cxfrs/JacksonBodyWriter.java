@@ -0,0 +1,49 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes request DTOs, e.g. {@code TransferFspRequestDTO}, with the application object mapper straight into the request
+ * stream of the Fineract endpoints. Used when {@code ams.local.http.write-request-dtos} leaves the DTO as body instead of
+ * converting it to a String first, Strings, byte arrays and streams are written by the CXF providers as before.
+ */
+@Component
+@Produces(MediaType.APPLICATION_JSON)
+public class JacksonBodyWriter implements MessageBodyWriter<Object> {
+
+    private final ObjectWriter writer;
+
+    public JacksonBodyWriter(ObjectMapper objectMapper) {
+        // the stream belongs to CXF, it flushes and closes it after the request is written
+        writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType) && !String.class.equals(type) && !byte[].class.equals(type)
+                && !InputStream.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public long getSize(Object o, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(Object o, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        writer.writeValue(entityStream, o);
+    }
+}
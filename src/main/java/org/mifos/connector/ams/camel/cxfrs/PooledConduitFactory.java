@@ -0,0 +1,88 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Future;
+import org.apache.cxf.transport.http.asyncclient.AsyncHTTPConduit;
+import org.apache.cxf.transport.http.asyncclient.AsyncHTTPConduitFactory;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.protocol.HttpAsyncRequestProducer;
+import org.apache.http.nio.protocol.HttpAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Connection pool of the async conduit applying the TLS settings of the conduit. CXF 3.2 hands them to the client in the
+ * {@code http.iosession-factory-registry} attribute, httpasyncclient 4.1 reads {@code http.ioSession-factory-registry}, without
+ * the copy the pool connects with the JVM defaults, ignoring e.g. {@code disableCNCheck}.
+ */
+class PooledConduitFactory extends AsyncHTTPConduitFactory {
+
+    private static final String CXF_REGISTRY = "http.iosession-factory-registry";
+    private static final String CLIENT_REGISTRY = "http.ioSession-factory-registry";
+
+    private volatile CloseableHttpAsyncClient client;
+    private volatile TlsRegistryClient tlsRegistryClient;
+
+    PooledConduitFactory(Map<String, Object> settings) {
+        super(settings);
+    }
+
+    @Override
+    public CloseableHttpAsyncClient createClient(AsyncHTTPConduit conduit) throws IOException {
+        CloseableHttpAsyncClient created = super.createClient(conduit);
+        if (created != client) {
+            tlsRegistryClient = new TlsRegistryClient(created);
+            client = created;
+        }
+        return tlsRegistryClient;
+    }
+
+    private static final class TlsRegistryClient extends CloseableHttpAsyncClient {
+
+        private final CloseableHttpAsyncClient delegate;
+
+        private TlsRegistryClient(CloseableHttpAsyncClient delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <T> Future<T> execute(HttpAsyncRequestProducer requestProducer, HttpAsyncResponseConsumer<T> responseConsumer,
+                HttpContext context, FutureCallback<T> callback) {
+            if (context != null && context.getAttribute(CXF_REGISTRY) != null) {
+                context.setAttribute(CLIENT_REGISTRY, context.getAttribute(CXF_REGISTRY));
+            }
+            return delegate.execute(requestProducer, responseConsumer, context, callback);
+        }
+
+        @Override
+        public Future<HttpResponse> execute(HttpHost target, HttpRequest request, HttpContext context,
+                FutureCallback<HttpResponse> callback) {
+            return delegate.execute(target, request, context, callback);
+        }
+
+        @Override
+        public Future<HttpResponse> execute(HttpUriRequest request, HttpContext context, FutureCallback<HttpResponse> callback) {
+            return delegate.execute(request, context, callback);
+        }
+
+        @Override
+        public boolean isRunning() {
+            return delegate.isRunning();
+        }
+
+        @Override
+        public void start() {
+            delegate.start();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
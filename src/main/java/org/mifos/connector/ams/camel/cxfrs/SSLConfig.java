@@ -22,6 +22,7 @@ import org.apache.camel.support.jsse.KeyStoreParameters;
 import org.apache.camel.support.jsse.SSLContextParameters;
 import org.apache.camel.support.jsse.SSLContextServerParameters;
 import org.apache.camel.support.jsse.TrustManagersParameters;
+import org.mifos.connector.ams.properties.FineractHttpProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -36,20 +37,24 @@ public class SSLConfig {
     private String keystorePassword;
     private File keyStoreFile;
     private boolean checkServerCert;
+    private FineractHttpProperties.Tls tls;
 
     public SSLConfig(@Value("${ams.local.keystore-path}") String keystorePath,
             @Value("${ams.local.keystore-password}") String keystorePassword,
-            @Value("${ams.local.server-cert-check}") boolean checkServerCert) {
+            @Value("${ams.local.server-cert-check}") boolean checkServerCert, FineractHttpProperties properties) {
         this.keystorePassword = keystorePassword;
         keyStoreFile = new FileSystemResource(keystorePath).getFile();
         this.checkServerCert = checkServerCert;
+        this.tls = properties.getTls();
     }
 
     public SSLContextParameters provideSSLContextParameters() {
         Optional<KeyManagersParameters> keyManagerParameter = getKeyManagerParameter();
         TrustManagersParameters trustManagerParameter = getTrustManagerParameter();
 
-        SSLContextParameters ssl = new SSLContextParameters();
+        SSLContextParameters ssl = tls.isSessionReuse()
+                ? new SharedSSLContextParameters(tls.getSessionCacheSize(), tls.getSessionTimeoutSeconds())
+                : new SSLContextParameters();
         keyManagerParameter.ifPresent(ssl::setKeyManagers);
         ssl.setTrustManagers(trustManagerParameter);
 
@@ -62,7 +67,8 @@ public class SSLConfig {
 
     private TrustManagersParameters getTrustManagerParameter() {
         TrustManagersParameters trustManagers = new TrustManagersParameters();
-        trustManagers.setTrustManager(createCompositeTrustManager());
+        CompositeX509TrustManager trustManager = createCompositeTrustManager();
+        trustManagers.setTrustManager(checkServerCert ? trustManager : new UncheckedServerTrustManager(trustManager));
         return trustManagers;
     }
 
@@ -70,7 +76,8 @@ public class SSLConfig {
         List<X509TrustManager> trustManagers = Stream
                 .concat(Stream.of(tryToGetApplicationTrustManagerTrustManager()), Stream.of(tryToGetJavaTrustManager()))
                 .filter(X509TrustManager.class::isInstance).map(X509TrustManager.class::cast).collect(Collectors.toList());
-        return new CompositeX509TrustManager(trustManagers, checkServerCert);
+        return new CompositeX509TrustManager(trustManagers, checkServerCert, tls.getTrustCacheSize(),
+                tls.getTrustCacheTtlSeconds() * 1000);
     }
 
     private X509TrustManager[] tryToGetJavaTrustManager() {
@@ -0,0 +1,37 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import org.apache.camel.CamelContext;
+import org.apache.camel.support.jsse.SSLContextParameters;
+
+/**
+ * SSL parameters creating the SSLContext once. camel-cxf creates the SSLContext again for every client, that is for every
+ * Fineract request, each with an empty session cache, so no TLS session is ever resumed. Sharing one SSLContext shares its
+ * client session cache across all connections and endpoints.
+ */
+class SharedSSLContextParameters extends SSLContextParameters {
+
+    private final int sessionCacheSize;
+    private final int sessionTimeoutSeconds;
+    private SSLContext sslContext;
+
+    SharedSSLContextParameters(int sessionCacheSize, int sessionTimeoutSeconds) {
+        this.sessionCacheSize = sessionCacheSize;
+        this.sessionTimeoutSeconds = sessionTimeoutSeconds;
+    }
+
+    @Override
+    public synchronized SSLContext createSSLContext(CamelContext camelContext) throws GeneralSecurityException, IOException {
+        if (sslContext == null) {
+            SSLContext created = super.createSSLContext(camelContext);
+            SSLSessionContext sessions = created.getClientSessionContext();
+            sessions.setSessionCacheSize(sessionCacheSize);
+            sessions.setSessionTimeout(sessionTimeoutSeconds);
+            sslContext = created;
+        }
+        return sslContext;
+    }
+}
@@ -0,0 +1,55 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import java.net.Socket;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.X509ExtendedTrustManager;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * Trust manager of {@code ams.local.server-cert-check: false}, trusting any server chain for any host name. JSSE verifies the
+ * host name on top of a plain {@link X509TrustManager}, so clients enabling it, like the JDK HTTP client of
+ * {@link FineractHttp2Transport}, would still reject a certificate the CXF conduit accepts with {@code disableCNCheck}. Client
+ * chains are checked by the wrapped trust manager.
+ */
+public class UncheckedServerTrustManager extends X509ExtendedTrustManager {
+
+    private final X509TrustManager trustManager;
+
+    public UncheckedServerTrustManager(X509TrustManager trustManager) {
+        this.trustManager = trustManager;
+    }
+
+    @Override
+    public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+        trustManager.checkClientTrusted(chain, authType);
+    }
+
+    @Override
+    public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) throws CertificateException {
+        trustManager.checkClientTrusted(chain, authType);
+    }
+
+    @Override
+    public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) throws CertificateException {
+        trustManager.checkClientTrusted(chain, authType);
+    }
+
+    @Override
+    public void checkServerTrusted(X509Certificate[] chain, String authType) {
+    }
+
+    @Override
+    public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+    }
+
+    @Override
+    public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+    }
+
+    @Override
+    public X509Certificate[] getAcceptedIssuers() {
+        return trustManager.getAcceptedIssuers();
+    }
+}
@@ -1,14 +1,21 @@
 package org.mifos.connector.ams.interop;
 
 import static org.mifos.connector.ams.camel.config.CamelProperties.CLIENT_ID;
+import static org.mifos.connector.ams.camel.config.CamelProperties.CLIENT_IMAGE;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID_TYPE;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
 
+import java.io.InputStream;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.model.dataformat.JsonLibrary;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.apache.camel.util.IOHelper;
 import org.json.JSONObject;
+import org.mifos.connector.ams.interop.ClientImageCache.ClientImage;
 import org.mifos.connector.common.ams.dto.ClientData;
 import org.mifos.connector.common.ams.dto.Customer;
 import org.mifos.connector.common.ams.dto.InteropAccountDTO;
@@ -22,6 +29,10 @@ public class AccountsRouteBuilder extends RouteBuilder {
 
     @Autowired(required = false)
     private AmsService amsService;
+    @Autowired
+    private ClientProfileCache clientProfileCache;
+    @Autowired
+    private ClientImageCache clientImageCache;
     @Value("${ams.local.version}")
     private String amsVersion;
 
@@ -67,10 +78,13 @@ public class AccountsRouteBuilder extends RouteBuilder {
                     .when(e -> "1.2".equals(amsVersion))
                         .unmarshal().json(JsonLibrary.Jackson, InteropAccountDTO.class)
                         .process(e -> e.setProperty(CLIENT_ID, e.getIn().getBody(InteropAccountDTO.class).getClientId()))
-                        .process(amsService::getClientImage)
-                        .process(e -> e.setProperty("client_image", e.getIn().getBody(String.class)))
-                        .process(amsService::getClient)
-                        .unmarshal().json(JsonLibrary.Jackson, ClientData.class)
+                        .process(e -> clientImageCache.load(e, amsService::getClientImage))
+                        .process(e -> {
+                            if (!clientProfileCache.serve(e)) {
+                                amsService.getClient(e);
+                            }
+                        })
+                        .process(e -> clientProfileCache.read(e, ClientData.class))
                         .process(e -> {
                             ClientData customer = e.getIn().getBody(ClientData.class);
                             JSONObject response = new JSONObject();
@@ -83,15 +97,18 @@ public class AccountsRouteBuilder extends RouteBuilder {
                             name.put("nativeName", customer.getDisplayName());
                             response.put("name", name);
                             response.put("lei", "");
-                            response.put("image", e.getProperty("client_image"));
-                            e.getIn().setBody(response.toString());
+                            e.getIn().setBody(ClientImageCache.responseWithImage(response, e.getProperty(CLIENT_IMAGE, ClientImage.class)));
                         })
                     .endChoice()
                     .otherwise() // cn
                         .unmarshal().json(JsonLibrary.Jackson, ProductInstance.class)
                             .process(e -> e.setProperty(CLIENT_ID, e.getIn().getBody(ProductInstance.class).getCustomerIdentifier()))
-                        .process(amsService::getClient)
-                        .unmarshal().json(JsonLibrary.Jackson, Customer.class)
+                        .process(e -> {
+                            if (!clientProfileCache.serve(e)) {
+                                amsService.getClient(e);
+                            }
+                        })
+                        .process(e -> clientProfileCache.read(e, Customer.class))
                         .process(e -> {
                             Customer customer = e.getIn().getBody(Customer.class);
                             JSONObject response = new JSONObject();
@@ -149,7 +166,16 @@ public class AccountsRouteBuilder extends RouteBuilder {
                 .to("direct:get-external-account")
                 .process(amsService::getSavingsAccountsTransactions)
                 .process(e -> {
-                    e.getIn().setBody(e.getIn().getBody());
+                    // the REST consumer copies the stream to the response before the exchange is done
+                    InputStream transactions = e.getIn().getBody(InputStream.class);
+                    e.adapt(ExtendedExchange.class).addOnCompletion(new SynchronizationAdapter() {
+
+                        @Override
+                        public void onDone(Exchange done) {
+                            IOHelper.close(transactions);
+                        }
+                    });
+                    e.getIn().setBody(transactions);
                 });
                 /*.
                 .unmarshal().json(JsonLibrary.Jackson, List.class)
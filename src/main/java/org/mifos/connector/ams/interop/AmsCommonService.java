@@ -1,17 +1,14 @@
 package org.mifos.connector.ams.interop;
 
-import static org.apache.camel.Exchange.HTTP_METHOD;
-import static org.apache.camel.Exchange.HTTP_PATH;
 import static org.mifos.connector.ams.camel.config.CamelProperties.TRANSFER_ACTION;
-import static org.mifos.connector.ams.camel.cxfrs.HeaderBasedInterceptor.CXF_TRACE_HEADER;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.ACCOUNT_NUMBER;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID_TYPE;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
 
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import javax.annotation.PostConstruct;
 import org.apache.camel.Exchange;
 import org.apache.camel.component.cxf.common.message.CxfConstants;
 import org.mifos.connector.ams.camel.cxfrs.CxfrsUtil;
@@ -62,67 +59,69 @@ public class AmsCommonService {
 
     private static final String APPLICATION_TYPE = "application/json";
 
+    private AmsRequestTemplate localQuote;
+    private AmsRequestTemplate getParty;
+    private AmsRequestTemplate registerParty;
+    private AmsRequestTemplate removeParty;
+    private AmsRequestTemplate transfer;
+    private AmsRequestTemplate loanRepayment;
+    private AmsRequestTemplate mockGetParty;
+    private AmsRequestTemplate mockTransfer;
+    private AmsRequestTemplate mockLoanRepayment;
+
+    @PostConstruct
+    public void compileRequestTemplates() {
+        localQuote = AmsRequestTemplate.compile("cxfrs:bean:ams.local.interop", "POST", amsInteropQuotesPath, APPLICATION_TYPE);
+        getParty = AmsRequestTemplate.compile("cxfrs:bean:ams.local.interop", "GET", amsInteropPartiesPath);
+        registerParty = AmsRequestTemplate.compile("cxfrs:bean:ams.local.interop", "POST", amsInteropPartiesPath, APPLICATION_TYPE);
+        removeParty = AmsRequestTemplate.compile("cxfrs:bean:ams.local.interop", "DELETE", amsInteropPartiesPath, APPLICATION_TYPE);
+        transfer = AmsRequestTemplate.compile("cxfrs:bean:ams.local.interop", "POST", amsInteropTransfersPath, APPLICATION_TYPE);
+        loanRepayment = AmsRequestTemplate.compile("cxfrs:bean:ams.local.loan", "POST", amsLoanRepaymentPath, APPLICATION_TYPE);
+        mockGetParty = AmsRequestTemplate.compile("cxfrs:bean:mock-service.local.interop", "GET", mockServiceAmsInteropPartiesPath);
+        mockTransfer = AmsRequestTemplate.compile("cxfrs:bean:mock-service.local.interop", "POST", mockServiceInteropTransfersPath,
+                APPLICATION_TYPE);
+        mockLoanRepayment = AmsRequestTemplate.compile("cxfrs:bean:mock-service.local.loan", "POST", mockServiceLoanRepaymentPath,
+                APPLICATION_TYPE);
+    }
+
     public void getLocalQuote(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "POST");
-        headers.put(HTTP_PATH, amsInteropQuotesPath);
-        headers.put("Content-Type", "application/json");
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.interop", e, headers, e.getIn().getBody());
+        Map<String, Object> headers = localQuote.headers(tenantHeaders(e));
+        cxfrsUtil.sendInOut(localQuote.getEndpoint(), e, headers, e.getIn().getBody());
     }
 
     public void getExternalAccount(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        headers.put(HTTP_PATH, amsInteropPartiesPath.replace("{idType}", e.getProperty(PARTY_ID_TYPE, String.class)).replace("{idValue}",
-                e.getProperty(PARTY_ID, String.class)));
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
         if (isAmsLocalEnabled) {
-            cxfrsUtil.sendInOut("cxfrs:bean:ams.local.interop", e, headers, null);
+            Map<String, Object> headers = getParty.headers(tenantHeaders(e), e.getProperty(PARTY_ID_TYPE, String.class),
+                    e.getProperty(PARTY_ID, String.class));
+            cxfrsUtil.sendInOut(getParty.getEndpoint(), e, headers, null);
         } else {
             logger.info("-------------- Calling Mock external Account API --------------");
-            headers.put(HTTP_PATH, mockServiceAmsInteropPartiesPath);
-            cxfrsUtil.sendInOut("cxfrs:bean:mock-service.local.interop", e, headers, null);
+            cxfrsUtil.sendInOut(mockGetParty.getEndpoint(), e, mockGetParty.headers(tenantHeaders(e)), null);
         }
         // cxfrsUtil.sendInOut("cxfrs:bean:ams.local.interop", e, headers, null);
     }
 
     public void sendTransfer(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "POST");
-        headers.put(HTTP_PATH, amsInteropTransfersPath);
         logger.info("Send Transfer Body: {}", e.getIn().getBody());
+        AmsRequestTemplate template = isAmsLocalEnabled ? transfer : mockTransfer;
+        Map<String, Object> headers = template.headers(tenantHeaders(e));
         Map<String, String> queryMap = new LinkedHashMap<>();
         queryMap.put("action", e.getProperty(TRANSFER_ACTION, String.class));
         headers.put(CxfConstants.CAMEL_CXF_RS_QUERY_MAP, queryMap);
-        headers.put("Content-Type", "application/json");
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        if (isAmsLocalEnabled) {
-            cxfrsUtil.sendInOut("cxfrs:bean:ams.local.interop", e, headers, e.getIn().getBody());
-        } else {
+        if (!isAmsLocalEnabled) {
             logger.info("-------------- Calling Mock transfers APIs --------------");
-            headers.put(HTTP_PATH, mockServiceInteropTransfersPath);
-            cxfrsUtil.sendInOut("cxfrs:bean:mock-service.local.interop", e, headers, e.getIn().getBody().toString());
         }
+        cxfrsUtil.sendInOut(template.getEndpoint(), e, headers, e.getIn().getBody());
     }
 
     public void repayLoan(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "POST");
-        headers.put(HTTP_PATH, amsLoanRepaymentPath.replace("{accountNumber}", e.getProperty(ACCOUNT_NUMBER, String.class)));
         logger.debug("Loan Repayment Body: {}", e.getIn().getBody());
-        headers.put("Content-Type", APPLICATION_TYPE);
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
         if (isAmsLocalEnabled) {
-            cxfrsUtil.sendInOut("cxfrs:bean:ams.local.loan", e, headers, e.getIn().getBody());
+            Map<String, Object> headers = loanRepayment.headers(tenantHeaders(e), e.getProperty(ACCOUNT_NUMBER, String.class));
+            cxfrsUtil.sendInOut(loanRepayment.getEndpoint(), e, headers, e.getIn().getBody());
         } else {
             logger.info("-------------- Calling Mock Loan repayment APIs --------------");
-            headers.put(HTTP_PATH, mockServiceLoanRepaymentPath);
-            cxfrsUtil.sendInOut("cxfrs:bean:mock-service.local.loan", e, headers, e.getIn().getBody().toString());
+            cxfrsUtil.sendInOut(mockLoanRepayment.getEndpoint(), e, mockLoanRepayment.headers(tenantHeaders(e)), e.getIn().getBody());
         }
         // cxfrsUtil.sendInOut("cxfrs:bean:ams.local.loan", e, headers, e.getIn().getBody());
     }
@@ -147,25 +146,19 @@ public class AmsCommonService {
     }
 
     public void registerInteropIdentifier(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "POST");
-        headers.put(HTTP_PATH, amsInteropPartiesPath.replace("{idType}", e.getProperty(PARTY_ID_TYPE, String.class)).replace("{idValue}",
-                e.getProperty(PARTY_ID, String.class)));
-        headers.put("Content-Type", "application/json");
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.interop", e, headers, e.getIn().getBody());
+        Map<String, Object> headers = registerParty.headers(tenantHeaders(e), e.getProperty(PARTY_ID_TYPE, String.class),
+                e.getProperty(PARTY_ID, String.class));
+        cxfrsUtil.sendInOut(registerParty.getEndpoint(), e, headers, e.getIn().getBody());
     }
 
     public void removeInteropIdentifier(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "DELETE");
-        headers.put(HTTP_PATH, amsInteropPartiesPath.replace("{idType}", e.getProperty(PARTY_ID_TYPE, String.class)).replace("{idValue}",
-                e.getProperty(PARTY_ID, String.class)));
-        headers.put("Content-Type", "application/json");
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
+        Map<String, Object> headers = removeParty.headers(tenantHeaders(e), e.getProperty(PARTY_ID_TYPE, String.class),
+                e.getProperty(PARTY_ID, String.class));
         e.getIn().setBody(null);
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.interop", e, headers, null);
+        cxfrsUtil.sendInOut(removeParty.getEndpoint(), e, headers, null);
+    }
+
+    protected Map<String, Object> tenantHeaders(Exchange e) {
+        return tenantService.getHeaders(e.getProperty(TENANT_ID, String.class));
     }
 }
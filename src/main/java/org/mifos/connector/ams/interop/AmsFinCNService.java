@@ -17,10 +17,10 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import javax.annotation.PostConstruct;
 import org.apache.camel.Exchange;
 import org.apache.camel.component.cxf.common.message.CxfConstants;
 import org.mifos.connector.ams.camel.cxfrs.CxfrsUtil;
-import org.mifos.connector.ams.tenant.TenantService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
@@ -42,28 +42,28 @@ public class AmsFinCNService extends AmsCommonService implements AmsService {
     @Value("${ams.local.auth.path}")
     private String amsLocalAuthPath;
 
-    @Autowired
-    private TenantService tenantService;
-
     @Autowired
     private CxfrsUtil cxfrsUtil;
 
+    private AmsRequestTemplate accountInstance;
+    private AmsRequestTemplate accountDefinition;
+    private AmsRequestTemplate customer;
+
+    @PostConstruct
+    public void compileFinCNRequestTemplates() {
+        accountInstance = AmsRequestTemplate.compile("cxfrs:bean:ams.local.account", "GET", amsAccountInstancesPath);
+        accountDefinition = AmsRequestTemplate.compile("cxfrs:bean:ams.local.account", "GET", amsAccountDefinitionsPath);
+        customer = AmsRequestTemplate.compile("cxfrs:bean:ams.local.customer", "GET", amsLocalCustomerPath);
+    }
+
     public void getSavingsAccount(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        headers.put(HTTP_PATH, amsAccountInstancesPath.replace("{accountId}", e.getProperty(ACCOUNT_ID, String.class)));
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.account", e, headers, null);
+        Map<String, Object> headers = accountInstance.headers(tenantHeaders(e), e.getProperty(ACCOUNT_ID, String.class));
+        cxfrsUtil.sendInOut(accountInstance.getEndpoint(), e, headers, null);
     }
 
     public void getSavingsAccountDefiniton(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        headers.put(HTTP_PATH, amsAccountDefinitionsPath.replace("{definitionId}", e.getProperty(DEFINITON_ID, String.class)));
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.account", e, headers, null);
+        Map<String, Object> headers = accountDefinition.headers(tenantHeaders(e), e.getProperty(DEFINITON_ID, String.class));
+        cxfrsUtil.sendInOut(accountDefinition.getEndpoint(), e, headers, null);
     }
 
     public void getSavingsAccounts(Exchange e) {
@@ -71,21 +71,13 @@ public class AmsFinCNService extends AmsCommonService implements AmsService {
     }
 
     public void getClient(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        headers.put(HTTP_PATH, amsLocalCustomerPath.replace("{customerIdentifier}", e.getProperty(CLIENT_ID, String.class)));
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.customer", e, headers, null);
+        Map<String, Object> headers = customer.headers(tenantHeaders(e), e.getProperty(CLIENT_ID, String.class));
+        cxfrsUtil.sendInOut(customer.getEndpoint(), e, headers, null);
     }
 
     public void getClientByMobileNo(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        headers.put(HTTP_PATH, amsLocalCustomerPath.replace("{customerIdentifier}", e.getProperty(IDENTIFIER_ID, String.class)));
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.customer", e, headers, null);
+        Map<String, Object> headers = customer.headers(tenantHeaders(e), e.getProperty(IDENTIFIER_ID, String.class));
+        cxfrsUtil.sendInOut(customer.getEndpoint(), e, headers, null);
     }
 
     public void login(Exchange e) {
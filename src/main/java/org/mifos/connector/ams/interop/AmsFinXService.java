@@ -1,18 +1,21 @@
 package org.mifos.connector.ams.interop;
 
-import static org.apache.camel.Exchange.HTTP_METHOD;
-import static org.apache.camel.Exchange.HTTP_PATH;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.mifos.connector.ams.camel.config.CamelProperties.CLIENT_ID;
 import static org.mifos.connector.ams.camel.config.CamelProperties.IDENTIFIER_ID;
-import static org.mifos.connector.ams.camel.cxfrs.HeaderBasedInterceptor.CXF_TRACE_HEADER;
+import static org.mifos.connector.ams.camel.config.CamelProperties.LOGIN_PASSWORD;
+import static org.mifos.connector.ams.camel.config.CamelProperties.LOGIN_USERNAME;
+import static org.mifos.connector.ams.tenant.TenantService.FINERACT_PLATFORM_TENANT_ID_HEADER;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_ID;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
 
-import java.util.HashMap;
+import java.net.URLEncoder;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
 import org.apache.camel.Exchange;
 import org.mifos.connector.ams.camel.cxfrs.CxfrsUtil;
-import org.mifos.connector.ams.tenant.TenantService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
@@ -22,6 +25,8 @@ import org.springframework.stereotype.Component;
 @ConditionalOnExpression("'${ams.local.version}'.equals('1.2')")
 public class AmsFinXService extends AmsCommonService implements AmsService {
 
+    private static final String FORM_TYPE = "application/x-www-form-urlencoded";
+
     @Value("${ams.local.interop.accounts-path}")
     private String amsInteropAccountsPath;
 
@@ -34,19 +39,45 @@ public class AmsFinXService extends AmsCommonService implements AmsService {
     @Value("${ams.local.account.savingsaccounts-path}")
     private String amsSavingsAccountsPath;
 
-    @Autowired
-    private TenantService tenantService;
+    @Value("${ams.local.auth.path:/fineract-provider/api/oauth/token}")
+    private String amsLocalAuthPath;
+
+    @Value("${ams.local.auth.client-id:community-app}")
+    private String amsLocalAuthClientId;
+
+    @Value("${ams.local.auth.client-secret:123}")
+    private String amsLocalAuthClientSecret;
 
     @Autowired
     private CxfrsUtil cxfrsUtil;
 
+    @Autowired
+    private ClientImageCache clientImageCache;
+
+    private AmsRequestTemplate savingsAccount;
+    private AmsRequestTemplate savingsAccounts;
+    private AmsRequestTemplate savingsAccountTransactions;
+    private AmsRequestTemplate client;
+    private AmsRequestTemplate clientImage;
+    private AmsRequestTemplate clientByMobileNo;
+    private AmsRequestTemplate oauthToken;
+
+    @PostConstruct
+    public void compileFinXRequestTemplates() {
+        savingsAccount = AmsRequestTemplate.compile("cxfrs:bean:ams.local.interop", "GET", amsInteropAccountsPath);
+        savingsAccounts = AmsRequestTemplate.compile("cxfrs:bean:ams.local.account", "GET", amsSavingsAccountsPath);
+        savingsAccountTransactions = AmsRequestTemplate.compile("cxfrs:bean:ams.local.account", "GET",
+                amsInteropAccountsPath + "/transactions");
+        client = AmsRequestTemplate.compile("cxfrs:bean:ams.local.customer", "GET", amsClientsPath);
+        clientImage = AmsRequestTemplate.compile("cxfrs:bean:ams.local.customer.image", "GET", amsImagePath);
+        clientByMobileNo = AmsRequestTemplate.compile("cxfrs:bean:ams.local.customer", "GET",
+                amsClientsPath.replace("/{clientId}", "") + "?mobileNo={mobileNo}");
+        oauthToken = AmsRequestTemplate.compile("cxfrs:bean:ams.local.auth", "POST", amsLocalAuthPath, FORM_TYPE, false);
+    }
+
     public void getSavingsAccount(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        headers.put(HTTP_PATH, amsInteropAccountsPath.replace("{externalAccountId}", e.getProperty(EXTERNAL_ACCOUNT_ID, String.class)));
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.interop", e, headers, null);
+        Map<String, Object> headers = savingsAccount.headers(tenantHeaders(e), e.getProperty(EXTERNAL_ACCOUNT_ID, String.class));
+        cxfrsUtil.sendInOut(savingsAccount.getEndpoint(), e, headers, null);
     }
 
     public void getSavingsAccountDefiniton(Exchange e) {
@@ -54,56 +85,47 @@ public class AmsFinXService extends AmsCommonService implements AmsService {
     }
 
     public void getSavingsAccounts(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        headers.put(HTTP_PATH, amsSavingsAccountsPath);
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.account", e, headers, null);
+        cxfrsUtil.sendInOut(savingsAccounts.getEndpoint(), e, savingsAccounts.headers(tenantHeaders(e)), null);
     }
 
     public void getSavingsAccountsTransactions(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        headers.put(HTTP_PATH,
-                amsInteropAccountsPath.replace("{externalAccountId}", e.getProperty(EXTERNAL_ACCOUNT_ID, String.class) + "/transactions"));
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.account", e, headers, null);
+        Map<String, Object> headers = savingsAccountTransactions.headers(tenantHeaders(e),
+                e.getProperty(EXTERNAL_ACCOUNT_ID, String.class));
+        cxfrsUtil.sendInOut(savingsAccountTransactions.getEndpoint(), e, headers, null);
     }
 
     public void getClient(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        headers.put(HTTP_PATH, amsClientsPath.replace("{clientId}", e.getProperty(CLIENT_ID, String.class)));
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.customer", e, headers, null);
+        Map<String, Object> headers = client.headers(tenantHeaders(e), e.getProperty(CLIENT_ID, String.class));
+        cxfrsUtil.sendInOut(client.getEndpoint(), e, headers, null);
     }
 
     public void getClientImage(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        headers.put(HTTP_PATH, amsImagePath.replace("{clientId}", e.getProperty(CLIENT_ID, String.class)));
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.customer.image", e, headers, null);
+        Map<String, Object> headers = clientImage.headers(tenantHeaders(e), e.getProperty(CLIENT_ID, String.class));
+        clientImageCache.addValidators(e, headers);
+        cxfrsUtil.sendInOut(clientImage.getEndpoint(), e, headers, null);
     }
 
     @Override
     public void getClientByMobileNo(Exchange e) {
-        Map<String, Object> headers = new HashMap<>();
-        headers.put(CXF_TRACE_HEADER, true);
-        headers.put(HTTP_METHOD, "GET");
-        String path = amsClientsPath.replace("/{clientId}", "");
-        path += "?mobileNo=" + e.getProperty(IDENTIFIER_ID, String.class);
-        headers.put(HTTP_PATH, path);
-        headers.putAll(tenantService.getHeaders(e.getProperty(TENANT_ID, String.class)));
-        cxfrsUtil.sendInOut("cxfrs:bean:ams.local.customer", e, headers, null);
+        Map<String, Object> headers = clientByMobileNo.headers(tenantHeaders(e), e.getProperty(IDENTIFIER_ID, String.class));
+        cxfrsUtil.sendInOut(clientByMobileNo.getEndpoint(), e, headers, null);
     }
 
+    /**
+     * Password grant of tenants with {@code authtype: oauth}, basic auth tenants don't log in. The credentials are sent as form
+     * body and the call is not traced, so neither they nor the token end up in access or CXF logs.
+     */
     @Override
     public void login(Exchange e) {
-        // basic auth
+        Map<String, Object> headers = oauthToken.headers(Map.of(FINERACT_PLATFORM_TENANT_ID_HEADER, e.getProperty(TENANT_ID)));
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("grant_type", "password");
+        form.put("username", e.getProperty(LOGIN_USERNAME, String.class));
+        form.put("password", e.getProperty(LOGIN_PASSWORD, String.class));
+        form.put("client_id", amsLocalAuthClientId);
+        form.put("client_secret", amsLocalAuthClientSecret);
+        String body = form.entrySet().stream().map(it -> it.getKey() + "=" + URLEncoder.encode(it.getValue(), UTF_8))
+                .collect(Collectors.joining("&"));
+        cxfrsUtil.sendInOut(oauthToken.getEndpoint(), e, headers, body);
     }
 }
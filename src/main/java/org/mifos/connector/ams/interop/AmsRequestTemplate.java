@@ -0,0 +1,109 @@
+package org.mifos.connector.ams.interop;
+
+import static org.apache.camel.Exchange.HTTP_METHOD;
+import static org.apache.camel.Exchange.HTTP_PATH;
+import static org.mifos.connector.ams.camel.cxfrs.HeaderBasedInterceptor.CXF_TRACE_HEADER;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Fineract call prepared once at startup: the endpoint, the fixed headers and the path, e.g.
+ * {@code /interoperation/parties/{idType}/{idValue}}, split at its variables. Per request only the variables are filled in,
+ * in the order they appear in the path, and the tenant headers are added.
+ */
+public final class AmsRequestTemplate {
+
+    private final String endpoint;
+    private final Map<String, Object> fixedHeaders;
+    private final String[] segments;
+    private final String[] variables;
+    private final int literalLength;
+
+    private AmsRequestTemplate(String endpoint, Map<String, Object> fixedHeaders, List<String> segments, List<String> variables) {
+        this.endpoint = endpoint;
+        this.fixedHeaders = Map.copyOf(fixedHeaders);
+        this.segments = segments.toArray(new String[0]);
+        this.variables = variables.toArray(new String[0]);
+        this.literalLength = segments.stream().mapToInt(String::length).sum();
+    }
+
+    public static AmsRequestTemplate compile(String endpoint, String method, String path) {
+        return compile(endpoint, method, path, null);
+    }
+
+    /**
+     * @param contentType
+     *            Content-Type header, {@code null} for calls without body
+     */
+    public static AmsRequestTemplate compile(String endpoint, String method, String path, String contentType) {
+        return compile(endpoint, method, path, contentType, true);
+    }
+
+    /**
+     * @param trace
+     *            whether CXF logs request and response, off for calls carrying credentials or tokens
+     */
+    public static AmsRequestTemplate compile(String endpoint, String method, String path, String contentType, boolean trace) {
+        Map<String, Object> headers = new HashMap<>();
+        if (trace) {
+            headers.put(CXF_TRACE_HEADER, true);
+        }
+        headers.put(HTTP_METHOD, method);
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+
+        List<String> segments = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = path.indexOf('{', start)) >= 0) {
+            int close = path.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed variable in path " + path);
+            }
+            segments.add(path.substring(start, open));
+            variables.add(path.substring(open + 1, close));
+            start = close + 1;
+        }
+        segments.add(path.substring(start));
+        return new AmsRequestTemplate(endpoint, headers, segments, variables);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String path(String... values) {
+        if (values.length != variables.length) {
+            throw new IllegalArgumentException("Path " + String.join("{}", segments) + " takes " + variables.length + " values");
+        }
+        if (values.length == 0) {
+            return segments[0];
+        }
+        StringBuilder path = new StringBuilder(literalLength + values.length * 16);
+        for (int i = 0; i < values.length; i++) {
+            String variable = variables[i];
+            path.append(segments[i]).append(Objects.requireNonNull(values[i], () -> "No value for path variable " + variable));
+        }
+        return path.append(segments[values.length]).toString();
+    }
+
+    /**
+     * New header map of a request, the caller may still add to it.
+     *
+     * @param tenantHeaders
+     *            from {@link org.mifos.connector.ams.tenant.TenantService#getHeaders}
+     */
+    public Map<String, Object> headers(Map<String, Object> tenantHeaders, String... pathValues) {
+        Map<String, Object> headers = new HashMap<>((fixedHeaders.size() + tenantHeaders.size() + 2) * 4 / 3 + 1);
+        headers.putAll(fixedHeaders);
+        headers.put(HTTP_PATH, path(pathValues));
+        headers.putAll(tenantHeaders);
+        return headers;
+    }
+}
@@ -0,0 +1,208 @@
+package org.mifos.connector.ams.interop;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mifos.connector.ams.camel.config.CamelProperties.CLIENT_ID;
+import static org.mifos.connector.ams.camel.config.CamelProperties.CLIENT_IMAGE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
+import org.apache.camel.Exchange;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client images of the account name lookup, base64 data URIs of up to some hundred KB, by tenant and client id. The images are
+ * kept in direct buffers outside the heap, together at most {@code ams.local.image-cache.max-bytes}, the least used are
+ * evicted first. An image is served without asking Fineract for {@code revalidate-seconds}, after that it is requested with
+ * its {@code ETag} or {@code Last-Modified} and kept on {@code 304 Not Modified}.
+ *
+ * <p>
+ * The image is written into the account name response from its buffer, see {@link #responseWithImage}.
+ */
+@Component
+public class ClientImageCache {
+
+    private static final byte[] RESPONSE_END = "\"}".getBytes(US_ASCII);
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("${ams.local.image-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ams.local.image-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${ams.local.image-cache.revalidate-seconds:300}")
+    private long revalidateSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<List<String>, ClientImage> images;
+
+    @PostConstruct
+    public void setup() {
+        if (!enabled) {
+            return;
+        }
+        images = Caffeine.newBuilder().maximumWeight(maxBytes).weigher((List<String> key, ClientImage image) -> image.size())
+                .recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, images, "fineract.client.image");
+        logger.info("Caching client images up to {} bytes, revalidated after {} seconds", maxBytes, revalidateSeconds);
+    }
+
+    /**
+     * Sets the image of the client of the exchange as {@code clientImage} property, from the cache or by calling Fineract.
+     * The property is not set if the client has no image or the call failed.
+     *
+     * @param call
+     *            the Fineract call, {@link AmsService#getClientImage}
+     */
+    public void load(Exchange exchange, Consumer<Exchange> call) {
+        List<String> key = key(exchange);
+        ClientImage cached = images == null ? null : images.getIfPresent(key);
+        if (cached != null && System.currentTimeMillis() - cached.validatedAt < revalidateSeconds * 1000) {
+            exchange.setProperty(CLIENT_IMAGE, cached);
+            return;
+        }
+        exchange.setProperty(CLIENT_IMAGE, cached);
+        call.accept(exchange);
+
+        Integer responseCode = exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        if (cached != null && responseCode != null && responseCode == 304) {
+            cached.validatedAt = System.currentTimeMillis();
+            return;
+        }
+        exchange.removeProperty(CLIENT_IMAGE);
+        if (responseCode == null || responseCode > 202) {
+            return;
+        }
+        byte[] data = exchange.getIn().getBody(byte[].class);
+        if (data == null || data.length == 0) {
+            return;
+        }
+        ClientImage image = new ClientImage(data, images != null, exchange.getIn().getHeader("ETag", String.class),
+                exchange.getIn().getHeader("Last-Modified", String.class));
+        if (images != null) {
+            images.put(key, image);
+        }
+        exchange.setProperty(CLIENT_IMAGE, image);
+    }
+
+    /**
+     * Adds {@code If-None-Match} and {@code If-Modified-Since} of the image to revalidate to the request headers.
+     */
+    public void addValidators(Exchange exchange, Map<String, Object> headers) {
+        ClientImage cached = exchange.getProperty(CLIENT_IMAGE, ClientImage.class);
+        if (cached == null) {
+            return;
+        }
+        if (cached.etag != null) {
+            headers.put("If-None-Match", cached.etag);
+        }
+        if (cached.lastModified != null) {
+            headers.put("If-Modified-Since", cached.lastModified);
+        }
+    }
+
+    /**
+     * The response with the image as {@code image} field. The image bytes are streamed from its buffer behind the rest of the
+     * response, only images with characters that have to be escaped in JSON are converted to a String. Clients without image
+     * get an empty {@code image}, the empty body of the image call the response carried before the cache.
+     */
+    public static Object responseWithImage(JSONObject response, ClientImage image) {
+        if (image == null) {
+            response.put("image", "");
+            return response.toString();
+        }
+        if (!image.jsonSafe) {
+            response.put("image", image.asString());
+            return response.toString();
+        }
+        String json = response.toString();
+        String head = json.substring(0, json.length() - 1) + (response.isEmpty() ? "" : ",") + "\"image\":\"";
+        return new SequenceInputStream(new ByteArrayInputStream(head.getBytes(UTF_8)),
+                new SequenceInputStream(image.stream(), new ByteArrayInputStream(RESPONSE_END)));
+    }
+
+    private static List<String> key(Exchange exchange) {
+        return List.of(String.valueOf(exchange.getProperty(TENANT_ID)), String.valueOf(exchange.getProperty(CLIENT_ID)));
+    }
+
+    public static final class ClientImage {
+
+        private final ByteBuffer data;
+        private final boolean jsonSafe;
+        private final String etag;
+        private final String lastModified;
+        private volatile long validatedAt;
+
+        private ClientImage(byte[] data, boolean direct, String etag, String lastModified) {
+            ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(data.length).put(data).flip() : ByteBuffer.wrap(data);
+            this.data = buffer.asReadOnlyBuffer();
+            this.jsonSafe = isJsonSafe(data);
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.validatedAt = System.currentTimeMillis();
+        }
+
+        public int size() {
+            return data.capacity();
+        }
+
+        public InputStream stream() {
+            ByteBuffer buffer = data.duplicate();
+            return new InputStream() {
+
+                @Override
+                public int read() {
+                    return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (!buffer.hasRemaining()) {
+                        return -1;
+                    }
+                    int count = Math.min(len, buffer.remaining());
+                    buffer.get(b, off, count);
+                    return count;
+                }
+
+                @Override
+                public int available() {
+                    return buffer.remaining();
+                }
+            };
+        }
+
+        public String asString() {
+            return UTF_8.decode(data.duplicate()).toString();
+        }
+
+        private static boolean isJsonSafe(byte[] data) {
+            for (byte b : data) {
+                if (b < 0x20 || b == '"' || b == '\\' || b == 0x7f) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
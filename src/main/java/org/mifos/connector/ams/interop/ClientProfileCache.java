@@ -0,0 +1,125 @@
+package org.mifos.connector.ams.interop;
+
+import static org.mifos.connector.ams.camel.config.CamelProperties.CLIENT_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import org.apache.camel.Exchange;
+import org.mifos.connector.ams.tenant.TenantRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clients read by {@code direct:get-party} and the account name lookup, {@code ClientData} on Fineract 1.2 and
+ * {@code Customer} on Fineract CN, by tenant and client id. Names and legal forms rarely change, entries expire after
+ * {@code ams.local.client-cache.ttl-seconds} and the least used are evicted above {@code max-size}. Entries are purged through
+ * the {@code clientprofiles} actuator endpoint and when the tenant changes.
+ */
+@Component
+public class ClientProfileCache {
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("${ams.local.client-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ams.local.client-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${ams.local.client-cache.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    private Cache<List<String>, Object> clients;
+
+    @PostConstruct
+    public void setup() {
+        if (!enabled) {
+            return;
+        }
+        clients = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(Duration.ofSeconds(ttlSeconds)).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, clients, "fineract.client.profile");
+        tenantRegistry.addChangeListener(this::purgeTenant);
+        logger.info("Caching client profiles for {} seconds, at most {}", ttlSeconds, maxSize);
+    }
+
+    /**
+     * Sets the cached client of the exchange as body, with the response code of a successful call.
+     *
+     * @return false if the client has to be read from Fineract
+     */
+    public boolean serve(Exchange exchange) {
+        if (clients == null) {
+            return false;
+        }
+        Object client = clients.getIfPresent(key(exchange));
+        if (client == null) {
+            return false;
+        }
+        exchange.getIn().setBody(client);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        return true;
+    }
+
+    /**
+     * Unmarshals the Fineract response to the client type, the cached client is kept as is. Successful responses are cached.
+     */
+    public <T> void read(Exchange exchange, Class<T> type) throws IOException {
+        if (type.isInstance(exchange.getIn().getBody())) {
+            return;
+        }
+        T client = objectMapper.readValue(exchange.getIn().getBody(InputStream.class), type);
+        exchange.getIn().setBody(client);
+        Integer responseCode = exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        if (clients != null && client != null && responseCode != null && responseCode <= 202) {
+            clients.put(key(exchange), client);
+        }
+    }
+
+    public long size() {
+        return clients == null ? 0 : clients.estimatedSize();
+    }
+
+    public void purge() {
+        if (clients != null) {
+            clients.invalidateAll();
+            logger.info("Client profiles purged");
+        }
+    }
+
+    public void purgeTenant(String tenant) {
+        if (clients != null) {
+            clients.asMap().keySet().removeIf(key -> key.get(0).equals(tenant));
+        }
+    }
+
+    public void purge(String tenant, String clientId) {
+        if (clients != null) {
+            clients.invalidate(List.of(tenant, clientId));
+        }
+    }
+
+    private static List<String> key(Exchange exchange) {
+        return List.of(String.valueOf(exchange.getProperty(TENANT_ID)), String.valueOf(exchange.getProperty(CLIENT_ID)));
+    }
+}
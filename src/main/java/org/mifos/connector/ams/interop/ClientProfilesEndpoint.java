@@ -0,0 +1,43 @@
+package org.mifos.connector.ams.interop;
+
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint purging {@link ClientProfileCache}, e.g. {@code DELETE /fineract/actuator/clientprofiles/tn03/12} after a
+ * client was renamed. {@code DELETE /fineract/actuator/clientprofiles/tn03} purges the clients of a tenant and
+ * {@code DELETE /fineract/actuator/clientprofiles} all. Not exposed over HTTP unless listed in
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "clientprofiles")
+public class ClientProfilesEndpoint {
+
+    @Autowired
+    private ClientProfileCache clientProfileCache;
+
+    @ReadOperation
+    public Map<String, Long> size() {
+        return Map.of("size", clientProfileCache.size());
+    }
+
+    @DeleteOperation
+    public void purge() {
+        clientProfileCache.purge();
+    }
+
+    @DeleteOperation
+    public void purgeTenant(@Selector String tenant) {
+        clientProfileCache.purgeTenant(tenant);
+    }
+
+    @DeleteOperation
+    public void purgeClient(@Selector String tenant, @Selector String clientId) {
+        clientProfileCache.purge(tenant, clientId);
+    }
+}
@@ -8,14 +8,14 @@ import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
 import static org.mifos.connector.common.ams.dto.LegalForm.PERSON;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.camunda.zeebe.client.ZeebeClient;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.mifos.connector.ams.errorhandler.ErrorTranslator;
-import org.mifos.connector.ams.properties.TenantProperties;
+import org.mifos.connector.ams.tenant.TenantRegistry;
 import org.mifos.connector.ams.utils.Utils;
+import org.mifos.connector.ams.zeebe.JobCompletionService;
 import org.mifos.connector.common.ams.dto.ClientData;
 import org.mifos.connector.common.ams.dto.Customer;
 import org.mifos.connector.common.ams.dto.EnumOptionData;
@@ -41,13 +41,13 @@ public class ClientResponseProcessor implements Processor {
     private String amsVersion;
 
     @Autowired
-    private TenantProperties tenantProperties;
+    private TenantRegistry tenantRegistry;
 
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired(required = false)
-    private ZeebeClient zeebeClient;
+    @Autowired
+    private JobCompletionService jobCompletionService;
 
     @Autowired
     private ErrorTranslator errorTranslator;
@@ -62,10 +62,10 @@ public class ClientResponseProcessor implements Processor {
 
             Map<String, Object> variables = Utils.getDefaultZeebeErrorVariable(exchange, errorTranslator);
             logger.info("Setting error info: {}", variables);
-            zeebeClient.newCompleteCommand(exchange.getProperty(ZEEBE_JOB_KEY, Long.class)).variables(variables).send();
+            jobCompletionService.complete(exchange.getProperty(ZEEBE_JOB_KEY, Long.class), variables);
         } else {
             Party mojaloopParty = new Party(new PartyIdInfo(IdentifierType.valueOf(partyIdType), partyId, null,
-                    tenantProperties.getTenant(exchange.getProperty(TENANT_ID, String.class)).getFspId()), null, null, null);
+                    tenantRegistry.getTenant(exchange.getProperty(TENANT_ID, String.class)).getFspId()), null, null, null);
 
             if ("1.2".equals(amsVersion)) {
                 ClientData client = exchange.getIn().getBody(ClientData.class);
@@ -103,7 +103,7 @@ public class ClientResponseProcessor implements Processor {
 
             Map<String, Object> variables = new HashMap<>();
             variables.put(PAYEE_PARTY_RESPONSE, objectMapper.writeValueAsString(mojaloopParty));
-            zeebeClient.newCompleteCommand(exchange.getProperty(ZEEBE_JOB_KEY, Long.class)).variables(variables).send();
+            jobCompletionService.complete(exchange.getProperty(ZEEBE_JOB_KEY, Long.class), variables);
         }
     }
 }
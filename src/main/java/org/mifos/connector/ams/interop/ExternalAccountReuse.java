@@ -0,0 +1,146 @@
+package org.mifos.connector.ams.interop;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mifos.connector.ams.camel.config.CamelProperties.EXTERNAL_ACCOUNT_REUSED;
+import static org.mifos.connector.ams.zeebe.ZeebeUtil.jobVariablesFrom;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_RESOLVED_AT;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_RESOLVED_FOR;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_SIGNATURE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID_TYPE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.camel.Exchange;
+import org.mifos.connector.ams.zeebe.JobVariables;
+import org.mifos.connector.common.ams.dto.PartyFspResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Skips the lookup of {@code direct:get-external-account} in the transfer stages after the quote. The quote stores the
+ * resolved {@code externalAccountId} in the process together with the tenant and identifier it was resolved for and when.
+ * A later stage uses it only if it looks up the same tenant and identifier and the account was resolved at most
+ * {@code ams.local.external-account-reuse.max-age-seconds} ago, otherwise Fineract is asked again. An identifier moved to
+ * another account within that age is still served the account of the quote.
+ *
+ * <p>
+ * Process variables can be set from outside the connector, e.g. by a message correlation, so the account, tenant, identifier
+ * and time are signed with an HMAC of {@code signing-key} when resolved, and an account is only reused with a valid signature.
+ * Without a configured key every instance signs with a random key of its own, a stage handled by another instance looks the
+ * account up again.
+ */
+@Component
+public class ExternalAccountReuse {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("${ams.local.external-account-reuse.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ams.local.external-account-reuse.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    @Value("${ams.local.external-account-reuse.signing-key:}")
+    private String signingKey;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    public void setup() {
+        if (!enabled) {
+            return;
+        }
+        byte[] keyBytes;
+        if (signingKey.isEmpty()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            logger.info("No external account signing key configured, reusing accounts resolved by this instance only");
+        } else {
+            keyBytes = signingKey.getBytes(UTF_8);
+        }
+        key = new SecretKeySpec(keyBytes, HMAC);
+    }
+
+    /**
+     * Sets the account of the job variables as body, with the response code of a successful lookup.
+     *
+     * @return false if the account has to be looked up
+     */
+    public boolean serve(Exchange exchange) {
+        exchange.removeProperty(EXTERNAL_ACCOUNT_REUSED);
+        if (key == null) {
+            return false;
+        }
+        JobVariables variables = jobVariablesFrom(exchange);
+        String accountId = exchange.getProperty(EXTERNAL_ACCOUNT_ID, String.class);
+        if (variables == null || accountId == null) {
+            return false;
+        }
+        if (!resolvedFor(exchange).equals(variables.get(EXTERNAL_ACCOUNT_RESOLVED_FOR))) {
+            return false;
+        }
+        Object resolvedAt = variables.get(EXTERNAL_ACCOUNT_RESOLVED_AT);
+        if (!(resolvedAt instanceof Number) || System.currentTimeMillis() - ((Number) resolvedAt).longValue() > maxAgeSeconds * 1000) {
+            return false;
+        }
+        Object signature = variables.get(EXTERNAL_ACCOUNT_SIGNATURE);
+        String expected = sign(resolvedFor(exchange), accountId, ((Number) resolvedAt).longValue());
+        if (!(signature instanceof String) || !MessageDigest.isEqual(expected.getBytes(UTF_8), ((String) signature).getBytes(UTF_8))) {
+            logger.warn("External account {} of the process variables is not signed by the connector, looking it up", accountId);
+            return false;
+        }
+        logger.debug("Reusing external account {} resolved at {}", accountId, resolvedAt);
+        PartyFspResponseDTO party = new PartyFspResponseDTO();
+        party.setAccountId(accountId);
+        exchange.getIn().setBody(party);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        exchange.setProperty(EXTERNAL_ACCOUNT_REUSED, true);
+        return true;
+    }
+
+    /**
+     * Records the tenant and identifier the account of the {@link PartyFspResponseDTO} body was resolved for and signs them,
+     * written to the process by {@link QuoteResponseProcessor}. A reused account keeps the time it was first resolved.
+     */
+    public void resolved(Exchange exchange) {
+        if (key == null || exchange.getProperty(EXTERNAL_ACCOUNT_REUSED, false, Boolean.class)) {
+            return;
+        }
+        String accountId = exchange.getIn().getBody(PartyFspResponseDTO.class).getAccountId();
+        if (accountId == null) {
+            return;
+        }
+        String resolvedFor = resolvedFor(exchange);
+        long resolvedAt = System.currentTimeMillis();
+        exchange.setProperty(EXTERNAL_ACCOUNT_RESOLVED_FOR, resolvedFor);
+        exchange.setProperty(EXTERNAL_ACCOUNT_RESOLVED_AT, resolvedAt);
+        exchange.setProperty(EXTERNAL_ACCOUNT_SIGNATURE, sign(resolvedFor, accountId, resolvedAt));
+    }
+
+    private String sign(String resolvedFor, String accountId, long resolvedAt) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            byte[] signature = mac.doFinal((resolvedFor + "\n" + accountId + "\n" + resolvedAt).getBytes(UTF_8));
+            return Base64.getEncoder().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign the external account", e);
+        }
+    }
+
+    private static String resolvedFor(Exchange exchange) {
+        return exchange.getProperty(TENANT_ID) + "/" + exchange.getProperty(PARTY_ID_TYPE) + "/" + exchange.getProperty(PARTY_ID);
+    }
+}
@@ -33,8 +33,9 @@ import static org.mifos.connector.ams.zeebe.ZeebeVariables.TRANSFER_CREATE_FAILE
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.TRANSFER_PREPARE_FAILED;
 import static org.mifos.connector.common.ams.dto.TransferActionType.CREATE;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.camunda.zeebe.client.ZeebeClient;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -44,9 +45,12 @@ import org.apache.camel.LoggingLevel;
 import org.apache.camel.Processor;
 import org.apache.camel.model.dataformat.JsonLibrary;
 import org.json.JSONObject;
+import org.mifos.connector.ams.camel.cxfrs.AmsCallDispatcher;
 import org.mifos.connector.ams.errorhandler.ErrorTranslator;
+import org.mifos.connector.ams.tenant.LoginFineractResponseDTO;
 import org.mifos.connector.ams.tenant.TenantNotExistException;
 import org.mifos.connector.ams.utils.Utils;
+import org.mifos.connector.ams.zeebe.JobCompletionService;
 import org.mifos.connector.ams.zeebe.ZeebeUtil;
 import org.mifos.connector.common.ams.dto.ClientData;
 import org.mifos.connector.common.ams.dto.Customer;
@@ -76,6 +80,9 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
     @Value("${ams.local.version}")
     private String amsVersion;
 
+    @Value("${ams.local.http.write-request-dtos:false}")
+    private boolean writeRequestDtos;
+
     @Autowired
     private Processor pojoToString;
 
@@ -104,11 +111,23 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
     private ObjectMapper objectMapper;
 
     @Autowired
-    private ZeebeClient zeebeClient;
+    private JobCompletionService jobCompletionService;
 
     @Autowired
     private ErrorTranslator errorTranslator;
 
+    @Autowired
+    private AmsCallDispatcher amsCallDispatcher;
+
+    @Autowired
+    private PartyLookupCache partyLookupCache;
+
+    @Autowired
+    private ExternalAccountReuse externalAccountReuse;
+
+    @Autowired
+    private ClientProfileCache clientProfileCache;
+
     private Logger logger = LoggerFactory.getLogger(this.getClass());
     private String callbackUrl;
     private String fineractResponseBody;
@@ -119,6 +138,9 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
 
     @Override
     public void configure() {
+        // with write-request-dtos the DTO stays the body and is serialized into the request stream by JacksonBodyWriter
+        Processor toRequestBody = writeRequestDtos ? exchange -> {} : pojoToString;
+
         onException(TenantNotExistException.class).process(e -> {
             e.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
             Exception exception = e.getException();
@@ -132,9 +154,11 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                         "Get externalAccount with identifierType: ${exchangeProperty." + PARTY_ID_TYPE + "} with value: ${exchangeProperty."
                                 + PARTY_ID + "}")
                 // .process(amsService::getExternalAccount)
-                .process(exchange -> {
+                .process(amsCallDispatcher.deferred(exchange -> {
                     try {
-                        amsService.getExternalAccount(exchange);
+                        if (!externalAccountReuse.serve(exchange) && !partyLookupCache.serve(exchange)) {
+                            amsService.getExternalAccount(exchange);
+                        }
                     } catch (TenantNotExistException e) {
                         log.debug(e.getMessage());
                         exchange.setProperty(ERROR_CODE, PaymentHubError.PayeeFspNotConfigured.getErrorCode());
@@ -143,10 +167,17 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                         exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
                         exchange.setProperty(IS_ERROR_SET_MANUALLY, true);
                     }
-                }).log("Response body from get-external-account").choice()
+                })).log("Response body from get-external-account").choice()
                 // check if http status code is <= 202
-                .when(e -> e.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class) <= 202).unmarshal()
-                .json(JsonLibrary.Jackson, PartyFspResponseDTO.class)
+                .when(e -> e.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class) <= 202).process(e -> {
+                    // a cached lookup is already a PartyFspResponseDTO
+                    if (!(e.getIn().getBody() instanceof PartyFspResponseDTO)) {
+                        PartyFspResponseDTO party = objectMapper.readValue(e.getIn().getBody(InputStream.class), PartyFspResponseDTO.class);
+                        e.getIn().setBody(party);
+                        partyLookupCache.put(e, party);
+                    }
+                    externalAccountReuse.resolved(e);
+                })
                 .process(e -> e.setProperty(EXTERNAL_ACCOUNT_ID, e.getIn().getBody(PartyFspResponseDTO.class).getAccountId()))
                 .process(exchange -> {
                     PartyFspResponseDTO dto = exchange.getIn().getBody(PartyFspResponseDTO.class);
@@ -159,13 +190,15 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
 
         from("direct:send-local-quote").id("send-local-quote").to("direct:get-external-account")
                 .log(LoggingLevel.INFO, "Sending local quote request for transaction: ${exchangeProperty." + TRANSACTION_ID + "}")
-                .process(prepareLocalQuoteRequest).process(pojoToString).process(amsService::getLocalQuote).process(quoteResponseProcessor);
+                .process(prepareLocalQuoteRequest).process(toRequestBody).process(amsCallDispatcher.deferred(amsService::getLocalQuote))
+                .process(quoteResponseProcessor);
 
         from("direct:send-transfers").id("send-transfers")
                 .log(LoggingLevel.INFO,
                         "Sending transfer with action: ${exchangeProperty." + TRANSFER_ACTION + "} "
                                 + " for transaction: ${exchangeProperty." + TRANSACTION_ID + "}")
-                .to("direct:get-external-account").process(prepareTransferRequest).process(pojoToString).process(amsService::sendTransfer)
+                .to("direct:get-external-account").process(prepareTransferRequest).process(toRequestBody)
+                .process(amsCallDispatcher.deferred(amsService::sendTransfer))
                 .to("direct:error-handler") // this route will parse and set error field if exist
                 .log("Process type: ${exchangeProperty." + PROCESS_TYPE + "}").choice()
                 .when(exchange -> exchange.getProperty(PROCESS_TYPE) != null && exchange.getProperty(PROCESS_TYPE).equals("api"))
@@ -174,7 +207,7 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                     if (statusCode > 202) {
                         Map<String, Object> variables = Utils.getDefaultZeebeErrorVariable(exchange, errorTranslator);
                         variables.put(FINERACT_RESPONSE_BODY, exchange.getIn().getBody(String.class));
-                        zeebeClient.newCompleteCommand(exchange.getProperty(ZEEBE_JOB_KEY, Long.class)).variables(variables).send();
+                        jobCompletionService.complete(exchange.getProperty(ZEEBE_JOB_KEY, Long.class), variables);
 
                         logger.error("{}", variables.get(ERROR_INFORMATION));
                     } else {
@@ -186,7 +219,7 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                         variables.put(TRANSFER_CODE, responseJson.getString("transferCode"));
                         logger.info("API call successful. Response Body: " + exchange.getIn().getBody(String.class));
                         variables.put(FINERACT_RESPONSE_BODY, exchange.getIn().getBody(String.class));
-                        zeebeClient.newCompleteCommand(exchange.getProperty(ZEEBE_JOB_KEY, Long.class)).variables(variables).send();
+                        jobCompletionService.complete(exchange.getProperty(ZEEBE_JOB_KEY, Long.class), variables);
                     }
 
                     logger.info("End of process in send-transfers");
@@ -198,9 +231,16 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                                 + " for transaction: ${exchangeProperty." + TRANSACTION_ID + "}")
                 .log("Process type: ${exchangeProperty." + PROCESS_TYPE + "}").process(exchange -> {
                     LoanRepaymentDTO loanRepaymentDTO = ZeebeUtil.setLoanRepaymentBody(exchange);
-                    String requestBody = objectMapper.writeValueAsString(loanRepaymentDTO);
-                    logger.debug("Request Body : {}", requestBody);
-                    exchange.getIn().setBody(requestBody);
+                    if (writeRequestDtos) {
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("Request Body : {}", objectMapper.writeValueAsString(loanRepaymentDTO));
+                        }
+                        exchange.getIn().setBody(loanRepaymentDTO);
+                    } else {
+                        String requestBody = objectMapper.writeValueAsString(loanRepaymentDTO);
+                        logger.debug("Request Body : {}", requestBody);
+                        exchange.getIn().setBody(requestBody);
+                    }
                     exchange.setProperty("accountNumber", exchange.getProperty(ACCOUNT_NUMBER));
                 }).process(amsService::repayLoan).to("direct:error-handler") // this route will parse and set error
                                                                              // field if exist
@@ -211,7 +251,7 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                     if (statusCode > 202) {
                         Map<String, Object> variables = Utils.getDefaultZeebeErrorVariable(exchange, errorTranslator);
                         variables.put(FINERACT_RESPONSE_BODY, exchange.getIn().getBody(String.class));
-                        zeebeClient.newCompleteCommand(exchange.getProperty(ZEEBE_JOB_KEY, Long.class)).variables(variables).send();
+                        jobCompletionService.complete(exchange.getProperty(ZEEBE_JOB_KEY, Long.class), variables);
 
                         logger.error("{}", variables.get(ERROR_INFORMATION));
                     } else {
@@ -223,7 +263,7 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                         variables.put(TRANSFER_CODE, responseJson.getString("transferCode"));
                         logger.info("API call successful. Response Body: " + exchange.getIn().getBody(String.class));
                         variables.put(FINERACT_RESPONSE_BODY, exchange.getIn().getBody(String.class));
-                        zeebeClient.newCompleteCommand(exchange.getProperty(ZEEBE_JOB_KEY, Long.class)).variables(variables).send();
+                        jobCompletionService.complete(exchange.getProperty(ZEEBE_JOB_KEY, Long.class), variables);
                     }
 
                     logger.info("End of process in send-transfers-loan");
@@ -233,6 +273,10 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                 .log(LoggingLevel.INFO, "Fineract CN oauth request for tenant: ${exchangeProperty." + TENANT_ID + "}")
                 .process(amsService::login).unmarshal().json(JsonLibrary.Jackson, LoginFineractCnResponseDTO.class);
 
+        from("direct:fin12-oauth").id("fin12-oauth")
+                .log(LoggingLevel.INFO, "Fineract 1.2 oauth request for tenant: ${exchangeProperty." + TENANT_ID + "}")
+                .process(amsService::login).unmarshal().json(JsonLibrary.Jackson, LoginFineractResponseDTO.class);
+
         // @formatter:off
         from("direct:get-party")
                 .id("get-party")
@@ -244,19 +288,19 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                 .log(LoggingLevel.INFO, "AccountId is null")
                 .process(clientResponseProcessor)
                 .otherwise()
-                .process(amsService::getSavingsAccount)
+                .process(amsCallDispatcher.deferred(amsService::getSavingsAccount))
                 .choice()
                     .when(e -> "1.2".equals(amsVersion))
                         .unmarshal().json(JsonLibrary.Jackson, InteropAccountDTO.class)
                         .process(e -> e.setProperty(CLIENT_ID, e.getIn().getBody(InteropAccountDTO.class).getClientId()))
-                        .process(amsService::getClient)
-                        .unmarshal().json(JsonLibrary.Jackson, ClientData.class)
+                        .process(amsCallDispatcher.deferred(this::getClient))
+                        .process(e -> clientProfileCache.read(e, ClientData.class))
                     .endChoice()
                     .otherwise() // cn
                         .unmarshal().json(JsonLibrary.Jackson, ProductInstance.class)
                         .process(e -> e.setProperty(CLIENT_ID, e.getIn().getBody(ProductInstance.class).getCustomerIdentifier()))
-                        .process(amsService::getClient)
-                        .unmarshal().json(JsonLibrary.Jackson, Customer.class)
+                        .process(amsCallDispatcher.deferred(this::getClient))
+                        .process(e -> clientProfileCache.read(e, Customer.class))
                     .endChoice()
                 .end()
                 .process(clientResponseProcessor);
@@ -280,19 +324,20 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                 .setProperty(CONTINUE_PROCESSING, constant(true))
                 .process(interopPartyResponseProcessor)
                 .process(e -> {
-                    Optional<Object> account = stream(spliteratorUnknownSize(// TODO this solution is potentially bad if there are too many accounts in the system
-                            new JSONObject(e.getIn().getBody(String.class)).getJSONArray("pageItems").iterator(),
+                    // parsed from the response stream, no String copy of the account list
+                    Optional<JsonNode> account = stream(spliteratorUnknownSize(// TODO this solution is potentially bad if there are too many accounts in the system
+                            objectMapper.readTree(e.getIn().getBody(InputStream.class)).path("pageItems").iterator(),
                             ORDERED), false)
-                            .filter(sa -> e.getProperty(ACCOUNT, String.class).equals(((JSONObject)sa).getString("accountNo")))
+                            .filter(sa -> e.getProperty(ACCOUNT, String.class).equals(sa.path("accountNo").asText()))
                             .findFirst();
                     if (!account.isPresent()) {
                         e.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
                     } else {
-                        JSONObject jsonAccount = (JSONObject)account.get();
-                        e.setProperty(ACCOUNT_ID, jsonAccount.getString("accountNo"));
-                        e.setProperty(ACCOUNT_CURRENCY, jsonAccount.getJSONObject("currency").getString("code"));
-                        e.setProperty(EXISTING_EXTERNAL_ACCOUNT_ID, jsonAccount.getString("externalId"));
-                        e.setProperty(INTEROP_ACCOUNT_TO_REGISTER, jsonAccount.getString("externalId"));
+                        JsonNode jsonAccount = account.get();
+                        e.setProperty(ACCOUNT_ID, jsonAccount.get("accountNo").asText());
+                        e.setProperty(ACCOUNT_CURRENCY, jsonAccount.get("currency").get("code").asText());
+                        e.setProperty(EXISTING_EXTERNAL_ACCOUNT_ID, jsonAccount.get("externalId").asText());
+                        e.setProperty(INTEROP_ACCOUNT_TO_REGISTER, jsonAccount.get("externalId").asText());
                     }
                 })
                 .process(interopPartyResponseProcessor)
@@ -347,10 +392,10 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
             JSONObject request = new JSONObject();
             request.put("accountId", e.getProperty(INTEROP_ACCOUNT_TO_REGISTER));
             e.getIn().setBody(request.toString());
-        }).process(amsService::registerInteropIdentifier).process(interopPartyResponseProcessor);
+        }).process(amsService::registerInteropIdentifier).process(this::invalidatePartyLookup).process(interopPartyResponseProcessor);
 
         from("direct:remove-interop-identifier-from-account").id("remove-interop-identifier-from-account")
-                .process(amsService::removeInteropIdentifier).process(interopPartyResponseProcessor);
+                .process(amsService::removeInteropIdentifier).process(this::invalidatePartyLookup).process(interopPartyResponseProcessor);
 
         // Direct API to deposit PAYEE initiated money
         from("rest:POST:/transfer/deposit").log(LoggingLevel.INFO, "Deposit call: ${body}").unmarshal()
@@ -387,4 +432,17 @@ public class InteroperationRouteBuilder extends ErrorHandlerRouteBuilder {
                     exchange.setProperty("callbackSent", callbackSent);
                 });
     }
+
+    private void getClient(Exchange exchange) {
+        if (!clientProfileCache.serve(exchange)) {
+            amsService.getClient(exchange);
+        }
+    }
+
+    private void invalidatePartyLookup(Exchange exchange) {
+        Integer responseCode = exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        if (responseCode != null && responseCode <= 202) {
+            partyLookupCache.invalidate(exchange);
+        }
+    }
 }
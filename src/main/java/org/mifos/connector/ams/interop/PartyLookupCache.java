@@ -0,0 +1,95 @@
+package org.mifos.connector.ams.interop;
+
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID_TYPE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import javax.annotation.PostConstruct;
+import org.apache.camel.Exchange;
+import org.mifos.connector.common.ams.dto.PartyFspResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Accounts of the interop identifiers looked up by {@code direct:get-external-account}, by tenant, identifier type and
+ * value. A transaction looks the same identifier up for the quote, the prepare and the commit, with the cache only the first
+ * lookup goes to Fineract. Entries expire after {@code ams.local.party-cache.ttl-seconds} and are removed when the
+ * identifier is registered to or removed from an account through this connector. Identifiers changed in Fineract directly
+ * are seen after the ttl.
+ */
+@Component
+public class PartyLookupCache {
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("${ams.local.party-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ams.local.party-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${ams.local.party-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<List<String>, PartyFspResponseDTO> parties;
+
+    @PostConstruct
+    public void setup() {
+        if (!enabled) {
+            return;
+        }
+        parties = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(Duration.ofSeconds(ttlSeconds)).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, parties, "fineract.party.lookup");
+        Gauge.builder("fineract.party.lookup.hit.ratio", parties, cache -> cache.stats().hitRate())
+                .description("Share of party lookups answered without calling Fineract").register(meterRegistry);
+        logger.info("Caching party lookups for {} seconds, at most {}", ttlSeconds, maxSize);
+    }
+
+    /**
+     * Sets the cached account of the identifier of the exchange as body, with the response code of a successful lookup.
+     *
+     * @return false if the identifier has to be looked up in Fineract
+     */
+    public boolean serve(Exchange exchange) {
+        if (parties == null) {
+            return false;
+        }
+        PartyFspResponseDTO party = parties.getIfPresent(key(exchange));
+        if (party == null) {
+            return false;
+        }
+        exchange.getIn().setBody(party);
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        return true;
+    }
+
+    public void put(Exchange exchange, PartyFspResponseDTO party) {
+        if (parties != null && party.getAccountId() != null) {
+            parties.put(key(exchange), party);
+        }
+    }
+
+    public void invalidate(Exchange exchange) {
+        if (parties != null) {
+            parties.invalidate(key(exchange));
+        }
+    }
+
+    private static List<String> key(Exchange exchange) {
+        return List.of(String.valueOf(exchange.getProperty(TENANT_ID)), String.valueOf(exchange.getProperty(PARTY_ID_TYPE)),
+                String.valueOf(exchange.getProperty(PARTY_ID)));
+    }
+}
@@ -78,7 +78,9 @@ public class PrepareTransferRequest implements Processor {
                     TransactionRole.valueOf(exchange.getProperty(TRANSACTION_ROLE, String.class)));
         }
 
-        logger.debug("prepared transferRequestDTO: {}", objectMapper.writeValueAsString(transferRequestDTO));
+        if (logger.isDebugEnabled()) {
+            logger.debug("prepared transferRequestDTO: {}", objectMapper.writeValueAsString(transferRequestDTO));
+        }
         exchange.getIn().setBody(transferRequestDTO);
     }
 }
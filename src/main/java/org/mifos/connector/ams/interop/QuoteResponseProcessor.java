@@ -4,6 +4,9 @@ import static org.mifos.connector.ams.camel.config.CamelProperties.TRANSACTION_R
 import static org.mifos.connector.ams.camel.config.CamelProperties.ZEEBE_JOB_KEY;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.ERROR_INFORMATION;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_RESOLVED_AT;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_RESOLVED_FOR;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_SIGNATURE;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.LOCAL_QUOTE_FAILED;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.LOCAL_QUOTE_RESPONSE;
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.QUOTE_FAILED;
@@ -14,11 +17,12 @@ import static org.mifos.connector.common.mojaloop.type.ErrorCode.PAYEE_FSP_REJEC
 import static org.mifos.connector.common.mojaloop.type.ErrorCode.PAYER_FSP_INSUFFICIENT_LIQUIDITY;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.camunda.zeebe.client.ZeebeClient;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.mifos.connector.ams.zeebe.JobCompletionService;
 import org.mifos.connector.common.ams.dto.QuoteFspResponseDTO;
 import org.mifos.connector.common.mojaloop.type.TransactionRole;
 import org.slf4j.Logger;
@@ -32,8 +36,8 @@ public class QuoteResponseProcessor implements Processor {
 
     private Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    @Autowired(required = false)
-    private ZeebeClient zeebeClient;
+    @Autowired
+    private JobCompletionService jobCompletionService;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -63,18 +67,24 @@ public class QuoteResponseProcessor implements Processor {
             variables.put(ERROR_INFORMATION, createError(errorCode, errorMsg).toString());
             variables.put(errorKey, true);
 
-            zeebeClient.newCompleteCommand(jobKey).variables(variables).send();
+            jobCompletionService.complete(jobKey, variables);
         } else {
             Map<String, Object> variables = new HashMap<>();
-            QuoteFspResponseDTO quoteResponse = objectMapper.readValue(exchange.getIn().getBody(String.class), QuoteFspResponseDTO.class);
+            QuoteFspResponseDTO quoteResponse = objectMapper.readValue(exchange.getIn().getBody(InputStream.class),
+                    QuoteFspResponseDTO.class);
             variables.put(LOCAL_QUOTE_RESPONSE, objectMapper.writeValueAsString(quoteResponse));
             variables.put("fspFee", quoteResponse.getFspFee());
             variables.put("fspCommission", quoteResponse.getFspCommission());
             variables.put(EXTERNAL_ACCOUNT_ID, exchange.getProperty(EXTERNAL_ACCOUNT_ID));
+            if (exchange.getProperty(EXTERNAL_ACCOUNT_RESOLVED_AT) != null) {
+                variables.put(EXTERNAL_ACCOUNT_RESOLVED_FOR, exchange.getProperty(EXTERNAL_ACCOUNT_RESOLVED_FOR));
+                variables.put(EXTERNAL_ACCOUNT_RESOLVED_AT, exchange.getProperty(EXTERNAL_ACCOUNT_RESOLVED_AT));
+                variables.put(EXTERNAL_ACCOUNT_SIGNATURE, exchange.getProperty(EXTERNAL_ACCOUNT_SIGNATURE));
+            }
             variables.put(TENANT_ID, exchange.getProperty(TENANT_ID));
             variables.put(transactionRole.equals(TransactionRole.PAYER.name()) ? LOCAL_QUOTE_FAILED : QUOTE_FAILED, false);
 
-            zeebeClient.newCompleteCommand(jobKey).variables(variables).send();
+            jobCompletionService.complete(jobKey, variables);
         }
     }
 }
@@ -12,12 +12,12 @@ import static org.mifos.connector.ams.zeebe.ZeebeVariables.TRANSFER_CREATE_FAILE
 import static org.mifos.connector.ams.zeebe.ZeebeVariables.TRANSFER_RESPONSE_PREFIX;
 import static org.mifos.connector.common.ams.dto.TransferActionType.PREPARE;
 
-import io.camunda.zeebe.client.ZeebeClient;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.mifos.connector.ams.errorhandler.ErrorTranslator;
+import org.mifos.connector.ams.zeebe.JobCompletionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,8 +29,8 @@ public class TransfersResponseProcessor implements Processor {
 
     private Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    @Autowired(required = false)
-    private ZeebeClient zeebeClient;
+    @Autowired
+    private JobCompletionService jobCompletionService;
 
     @Autowired
     private ErrorTranslator errorTranslator;
@@ -40,6 +40,9 @@ public class TransfersResponseProcessor implements Processor {
         Integer responseCode = exchange.getIn().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
         String transferAction = exchange.getProperty(TRANSFER_ACTION, String.class);
 
+        // read once, a streamed FineractResponseBody can't be serialized into the job variables
+        String responseBody = exchange.getIn().getBody(String.class);
+
         Map<String, Object> variables = new HashMap<>();
         variables.put(TRANSFER_CREATE_FAILED, responseCode > 202);
 
@@ -53,14 +56,14 @@ public class TransfersResponseProcessor implements Processor {
             variables.put(ACTION_FAILURE_MAP.get(transferAction), true);
 
         } else {
-            variables.put(TRANSFER_RESPONSE_PREFIX + "-" + transferAction, exchange.getIn().getBody());
+            variables.put(TRANSFER_RESPONSE_PREFIX + "-" + transferAction, responseBody);
             if (PREPARE.name().equals(transferAction)) {
                 variables.put(TRANSFER_CODE, exchange.getProperty(TRANSFER_CODE));
             }
             variables.put(ACTION_FAILURE_MAP.get(transferAction), false);
         }
-        variables.put(FINERACT_RESPONSE_BODY, exchange.getIn().getBody());
-        zeebeClient.newCompleteCommand(exchange.getProperty(ZEEBE_JOB_KEY, Long.class)).variables(variables).send();
+        variables.put(FINERACT_RESPONSE_BODY, responseBody);
+        jobCompletionService.complete(exchange.getProperty(ZEEBE_JOB_KEY, Long.class), variables);
         logger.info("Completed job with key: {}", exchange.getProperty(ZEEBE_JOB_KEY, Long.class));
     }
 }
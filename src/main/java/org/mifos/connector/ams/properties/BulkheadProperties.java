@@ -0,0 +1,69 @@
+package org.mifos.connector.ams.properties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "zeebe.client.bulkheads")
+public class BulkheadProperties {
+
+    private boolean enabled;
+    private long rejectedRetryBackoffMs = 1000;
+    private Map<String, Bulkhead> jobTypes = new LinkedHashMap<>();
+
+    public BulkheadProperties() {}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getRejectedRetryBackoffMs() {
+        return rejectedRetryBackoffMs;
+    }
+
+    public void setRejectedRetryBackoffMs(long rejectedRetryBackoffMs) {
+        this.rejectedRetryBackoffMs = rejectedRetryBackoffMs;
+    }
+
+    /**
+     * Bulkheads by job type, a key also covers the per-DFSP job types starting with it, e.g. {@code payee-quote} covers
+     * {@code payee-quote-<dfspid>}.
+     */
+    public Map<String, Bulkhead> getJobTypes() {
+        return jobTypes;
+    }
+
+    public void setJobTypes(Map<String, Bulkhead> jobTypes) {
+        this.jobTypes = jobTypes;
+    }
+
+    public static class Bulkhead {
+
+        private int maxConcurrency = 10;
+        private int queueSize = 100;
+
+        public Bulkhead() {}
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.mifos.connector.ams.properties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "ams.local.http")
+public class FineractHttpProperties {
+
+    private int maxRetransmits = 1;
+    private boolean allowChunking;
+    private int chunkingThreshold = 4096;
+    private boolean keepAlive = true;
+    private long connectionTimeoutMs = 30000;
+    private long receiveTimeoutMs = 60000;
+    private boolean pooled;
+    private boolean streamResponses;
+    private boolean writeRequestDtos;
+    private Map<String, Pool> pools = new LinkedHashMap<>();
+    private Http2 http2 = new Http2();
+    private Tls tls = new Tls();
+
+    public FineractHttpProperties() {}
+
+    public int getMaxRetransmits() {
+        return maxRetransmits;
+    }
+
+    public void setMaxRetransmits(int maxRetransmits) {
+        this.maxRetransmits = maxRetransmits;
+    }
+
+    /**
+     * Request bodies larger than the chunking threshold are streamed instead of buffered to compute the content length.
+     */
+    public boolean isAllowChunking() {
+        return allowChunking;
+    }
+
+    public void setAllowChunking(boolean allowChunking) {
+        this.allowChunking = allowChunking;
+    }
+
+    public int getChunkingThreshold() {
+        return chunkingThreshold;
+    }
+
+    public void setChunkingThreshold(int chunkingThreshold) {
+        this.chunkingThreshold = chunkingThreshold;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public void setConnectionTimeoutMs(long connectionTimeoutMs) {
+        this.connectionTimeoutMs = connectionTimeoutMs;
+    }
+
+    public long getReceiveTimeoutMs() {
+        return receiveTimeoutMs;
+    }
+
+    public void setReceiveTimeoutMs(long receiveTimeoutMs) {
+        this.receiveTimeoutMs = receiveTimeoutMs;
+    }
+
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    public void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Response bodies are handed to the route on the connection stream instead of being read into a String first.
+     */
+    public boolean isStreamResponses() {
+        return streamResponses;
+    }
+
+    public void setStreamResponses(boolean streamResponses) {
+        this.streamResponses = streamResponses;
+    }
+
+    /**
+     * Request DTOs are kept as body and serialized into the request stream, instead of being converted to a String first.
+     */
+    public boolean isWriteRequestDtos() {
+        return writeRequestDtos;
+    }
+
+    public void setWriteRequestDtos(boolean writeRequestDtos) {
+        this.writeRequestDtos = writeRequestDtos;
+    }
+
+    /**
+     * Connection pools by endpoint, e.g. {@code interop} for {@code ams.local.interop}.
+     */
+    public Map<String, Pool> getPools() {
+        return pools;
+    }
+
+    public void setPools(Map<String, Pool> pools) {
+        this.pools = pools;
+    }
+
+    public Http2 getHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(Http2 http2) {
+        this.http2 = http2;
+    }
+
+    public Tls getTls() {
+        return tls;
+    }
+
+    public void setTls(Tls tls) {
+        this.tls = tls;
+    }
+
+    public static class Pool {
+
+        private int maxConnections = 50;
+        private int maxIdleMs = 60000;
+        private int ttlMs = 300000;
+        private boolean soKeepAlive = true;
+
+        public Pool() {}
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        /**
+         * Connections idle for longer are evicted.
+         */
+        public int getMaxIdleMs() {
+            return maxIdleMs;
+        }
+
+        public void setMaxIdleMs(int maxIdleMs) {
+            this.maxIdleMs = maxIdleMs;
+        }
+
+        public int getTtlMs() {
+            return ttlMs;
+        }
+
+        public void setTtlMs(int ttlMs) {
+            this.ttlMs = ttlMs;
+        }
+
+        public boolean isSoKeepAlive() {
+            return soKeepAlive;
+        }
+
+        public void setSoKeepAlive(boolean soKeepAlive) {
+            this.soKeepAlive = soKeepAlive;
+        }
+    }
+
+    public static class Http2 {
+
+        private boolean enabled;
+        private int connections = 2;
+
+        public Http2() {}
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * HTTP/2 connections per Fineract host, each multiplexing its share of the requests.
+         */
+        public int getConnections() {
+            return connections;
+        }
+
+        public void setConnections(int connections) {
+            this.connections = connections;
+        }
+    }
+
+    public static class Tls {
+
+        private boolean sessionReuse;
+        private int sessionCacheSize = 1000;
+        private int sessionTimeoutSeconds = 3600;
+        private int trustCacheSize = 100;
+        private long trustCacheTtlSeconds = 3600;
+
+        public Tls() {}
+
+        /**
+         * All Fineract clients share one SSLContext, so a new connection resumes the TLS session of an earlier one instead of a
+         * full handshake. Without it every client gets its own SSLContext, and its own session cache.
+         */
+        public boolean isSessionReuse() {
+            return sessionReuse;
+        }
+
+        public void setSessionReuse(boolean sessionReuse) {
+            this.sessionReuse = sessionReuse;
+        }
+
+        public int getSessionCacheSize() {
+            return sessionCacheSize;
+        }
+
+        public void setSessionCacheSize(int sessionCacheSize) {
+            this.sessionCacheSize = sessionCacheSize;
+        }
+
+        public int getSessionTimeoutSeconds() {
+            return sessionTimeoutSeconds;
+        }
+
+        public void setSessionTimeoutSeconds(int sessionTimeoutSeconds) {
+            this.sessionTimeoutSeconds = sessionTimeoutSeconds;
+        }
+
+        /**
+         * Server certificate chains remembered as trusted, 0 verifies every chain.
+         */
+        public int getTrustCacheSize() {
+            return trustCacheSize;
+        }
+
+        public void setTrustCacheSize(int trustCacheSize) {
+            this.trustCacheSize = trustCacheSize;
+        }
+
+        public long getTrustCacheTtlSeconds() {
+            return trustCacheTtlSeconds;
+        }
+
+        public void setTrustCacheTtlSeconds(long trustCacheTtlSeconds) {
+            this.trustCacheTtlSeconds = trustCacheTtlSeconds;
+        }
+    }
+}
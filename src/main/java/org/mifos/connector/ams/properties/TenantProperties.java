@@ -2,7 +2,6 @@ package org.mifos.connector.ams.properties;
 
 import java.util.ArrayList;
 import java.util.List;
-import org.mifos.connector.ams.tenant.TenantNotExistException;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -21,9 +20,4 @@ public class TenantProperties {
     public void setTenants(List<Tenant> tenants) {
         this.tenants = tenants;
     }
-
-    public Tenant getTenant(String name) {
-        return getTenants().stream().filter(t -> t.getName().equals(name)).findFirst()
-                .orElseThrow(() -> new TenantNotExistException("Tenant with name: " + name + ", not configuerd!"));
-    }
 }
@@ -1,16 +1,30 @@
 package org.mifos.connector.ams.tenant;
 
 import java.util.Date;
+import java.util.Map;
 import java.util.Objects;
 
 public class CachedTenantAuth {
 
-    private String token;
-    private Date accessTokenExpiration;
+    private final String token;
+    private final Date accessTokenExpiration;
+    private final Map<String, Object> headers;
 
     public CachedTenantAuth(String token, Date accessTokenExpiration) {
+        this(token, accessTokenExpiration, Map.of());
+    }
+
+    public CachedTenantAuth(String token, Date accessTokenExpiration, Map<String, Object> headers) {
         this.token = token;
         this.accessTokenExpiration = accessTokenExpiration;
+        this.headers = headers;
+    }
+
+    /**
+     * Copy carrying the request headers of the token.
+     */
+    public CachedTenantAuth withHeaders(Map<String, Object> headers) {
+        return new CachedTenantAuth(token, accessTokenExpiration, headers);
     }
 
     public String getToken() {
@@ -21,6 +35,10 @@ public class CachedTenantAuth {
         return accessTokenExpiration;
     }
 
+    public Map<String, Object> getHeaders() {
+        return headers;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
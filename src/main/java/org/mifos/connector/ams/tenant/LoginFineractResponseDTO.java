@@ -0,0 +1,31 @@
+package org.mifos.connector.ams.tenant;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Token of the Fineract 1.2 {@code /oauth/token} endpoint.
+ */
+@Getter
+@Setter
+@ToString(exclude = { "accessToken", "refreshToken" })
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LoginFineractResponseDTO {
+
+    @JsonProperty("access_token")
+    private String accessToken;
+
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+
+    @JsonProperty("expires_in")
+    private long expiresIn;
+
+    private String scope;
+}
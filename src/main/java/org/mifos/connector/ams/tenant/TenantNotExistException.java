@@ -5,4 +5,12 @@ public class TenantNotExistException extends RuntimeException {
     public TenantNotExistException(String message) {
         super(message);
     }
+
+    /**
+     * @param stackTrace
+     *            false for the exceptions cached by {@link TenantRegistry}, thrown repeatedly for the same tenant
+     */
+    public TenantNotExistException(String message, boolean stackTrace) {
+        super(message, null, stackTrace, stackTrace);
+    }
 }
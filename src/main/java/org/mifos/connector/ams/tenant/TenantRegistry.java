@@ -0,0 +1,98 @@
+package org.mifos.connector.ams.tenant;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import org.mifos.connector.ams.properties.Tenant;
+import org.mifos.connector.ams.properties.TenantProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tenants of {@code ams.local.tenants} indexed by name. Tenants can be added, changed or removed at runtime through the
+ * {@code tenants} actuator endpoint, the next lookup sees the change.
+ *
+ * <p>
+ * Lookups of unknown tenants are answered from a cache of stackless {@link TenantNotExistException}s, cleared when a tenant is
+ * added.
+ */
+@Component
+public class TenantRegistry {
+
+    private static final int MAX_UNKNOWN_TENANTS = 1000;
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private TenantProperties tenantProperties;
+
+    private volatile Map<String, Tenant> tenants = Map.of();
+    private final Map<String, TenantNotExistException> unknownTenants = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void setup() {
+        tenants = Map.copyOf(tenantProperties.getTenants().stream().collect(Collectors.toMap(Tenant::getName, Function.identity())));
+        logger.info("Registered tenants: {}", tenants.keySet());
+    }
+
+    /**
+     * @throws TenantNotExistException
+     *             if no tenant is registered with the name
+     */
+    public Tenant getTenant(String name) {
+        Tenant tenant = name == null ? null : tenants.get(name);
+        if (tenant != null) {
+            return tenant;
+        }
+        if (name == null || unknownTenants.size() >= MAX_UNKNOWN_TENANTS) {
+            throw new TenantNotExistException("Tenant with name: " + name + ", not configuerd!", false);
+        }
+        throw unknownTenants.computeIfAbsent(name,
+                it -> new TenantNotExistException("Tenant with name: " + it + ", not configuerd!", false));
+    }
+
+    public Collection<Tenant> getTenants() {
+        return tenants.values();
+    }
+
+    /**
+     * Adds the tenant or replaces the one with the same name, e.g. with new credentials or fspId.
+     */
+    public synchronized void putTenant(Tenant tenant) {
+        Map<String, Tenant> updated = new HashMap<>(tenants);
+        updated.put(tenant.getName(), tenant);
+        tenants = Map.copyOf(updated);
+        unknownTenants.clear();
+        logger.info("Tenant {} updated", tenant.getName());
+        changeListeners.forEach(listener -> listener.accept(tenant.getName()));
+    }
+
+    public synchronized boolean removeTenant(String name) {
+        if (!tenants.containsKey(name)) {
+            return false;
+        }
+        Map<String, Tenant> updated = new HashMap<>(tenants);
+        updated.remove(name);
+        tenants = Map.copyOf(updated);
+        logger.info("Tenant {} removed", name);
+        changeListeners.forEach(listener -> listener.accept(name));
+        return true;
+    }
+
+    /**
+     * The listener is called with the name of every added, changed or removed tenant.
+     */
+    public void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+}
@@ -7,16 +7,23 @@ import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
 
 import java.util.Base64;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.core.HttpHeaders;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.support.DefaultExchange;
 import org.mifos.connector.ams.properties.Tenant;
-import org.mifos.connector.ams.properties.TenantProperties;
 import org.mifos.connector.common.ams.dto.LoginFineractCnResponseDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,12 +39,15 @@ public class TenantService {
     public static final String USER_HEADER = "User";
     public static final String FINERACT_PLATFORM_TENANT_ID_HEADER = "Fineract-Platform-TenantId";
 
+    private static final int REFRESH_THREADS = 2;
+
     private Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    @Autowired
     private ProducerTemplate producerTemplate;
 
     @Autowired
-    private TenantProperties tenantProperties;
+    private TenantRegistry tenantRegistry;
 
     @Autowired
     private CamelContext camelContext;
@@ -45,34 +55,142 @@ public class TenantService {
     @Value("${ams.local.version}")
     private String amsLocalVersion;
 
+    @Value("${ams.local.auth.refresh-before-expiry-seconds:300}")
+    private long refreshBeforeExpirySeconds;
+
+    @Value("${ams.local.auth.refresh-check-seconds:30}")
+    private long refreshCheckSeconds;
+
     private final Map<String, CachedTenantAuth> cachedTenantAuths = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedTenantAuth>> refreshes = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refreshScheduler;
+
+    @PostConstruct
+    public void setup() {
+        // changed credentials take effect with the next call
+        tenantRegistry.addChangeListener(this::tenantChanged);
+        AtomicInteger threads = new AtomicInteger();
+        refreshScheduler = Executors.newScheduledThreadPool(REFRESH_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "tenant-token-refresh-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        refreshScheduler.scheduleWithFixedDelay(this::refreshExpiringTokens, refreshCheckSeconds, refreshCheckSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshScheduler.shutdownNow();
+    }
 
+    /**
+     * Immutable headers of the tenant. They are built when its token is obtained and replaced together with the token, until
+     * then this is a single map read.
+     *
+     * <p>
+     * A token about to expire is renewed in the background while it is still returned. Only without a valid token the caller
+     * waits for the login, concurrent callers of a tenant share one login.
+     */
     public Map<String, Object> getHeaders(String tenantName) {
-        logger.info("Getting headers for tenant: {}", tenantName);
-        Tenant tenant = tenantProperties.getTenant(tenantName);
-        Map<String, Object> headers = new HashMap<>();
+        CachedTenantAuth cachedTenantAuth = tenantName == null ? null : cachedTenantAuths.get(tenantName);
+        if (cachedTenantAuth == null || isExpired(cachedTenantAuth, 0)) {
+            cachedTenantAuth = awaitRefresh(tenantRegistry.getTenant(tenantName));
+        } else if (isExpired(cachedTenantAuth, refreshBeforeExpirySeconds)) {
+            refresh(tenantRegistry.getTenant(tenantName));
+        }
+        return cachedTenantAuth.getHeaders();
+    }
 
+    private Map<String, Object> createHeaders(Tenant tenant, String token) {
         if ("1.2".equals(amsLocalVersion)) {
-            headers.put(FINERACT_PLATFORM_TENANT_ID_HEADER, tenantName);
+            return Map.of(FINERACT_PLATFORM_TENANT_ID_HEADER, tenant.getName(), HttpHeaders.AUTHORIZATION, token);
         } else if ("cn".equals(amsLocalVersion)) {
-            headers.put(X_TENANT_IDENTIFIER_HEADER, tenantName);
-            headers.put(USER_HEADER, tenant.getUser());
+            return Map.of(X_TENANT_IDENTIFIER_HEADER, tenant.getName(), USER_HEADER, tenant.getUser(), HttpHeaders.AUTHORIZATION, token);
         } else {
             throw new RuntimeException("Unsupported Fineract version: " + amsLocalVersion);
         }
+    }
+
+    private CachedTenantAuth awaitRefresh(Tenant tenant) {
+        try {
+            return refresh(tenant).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts the login of the tenant unless one is already running.
+     */
+    private CompletableFuture<CachedTenantAuth> refresh(Tenant tenant) {
+        CompletableFuture<CachedTenantAuth> refresh = new CompletableFuture<>();
+        CompletableFuture<CachedTenantAuth> running = refreshes.putIfAbsent(tenant.getName(), refresh);
+        if (running != null) {
+            return running;
+        }
+        try {
+            refreshScheduler.execute(() -> {
+                try {
+                    logger.info("Obtaining token for tenant: {}", tenant.getName());
+                    CachedTenantAuth cachedTenantAuth = login(tenant);
+                    cachedTenantAuth = cachedTenantAuth.withHeaders(createHeaders(tenant, cachedTenantAuth.getToken()));
+                    publish(tenant, cachedTenantAuth);
+                    refreshes.remove(tenant.getName(), refresh);
+                    refresh.complete(cachedTenantAuth);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not obtain token for tenant: {}", tenant.getName(), e);
+                    refreshes.remove(tenant.getName(), refresh);
+                    refresh.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshes.remove(tenant.getName(), refresh);
+            refresh.completeExceptionally(e);
+        }
+        return refresh;
+    }
 
-        headers.put(HttpHeaders.AUTHORIZATION, getTenantAuthData(tenant).getToken());
+    private void tenantChanged(String tenantName) {
+        cachedTenantAuths.remove(tenantName);
+        refreshes.remove(tenantName);
+    }
 
-        return headers;
+    /**
+     * Caches the token unless the tenant changed during the login, the callers waiting for the login still get it. Checked
+     * again after the put, a change in between is not seen by the change listener otherwise.
+     */
+    private void publish(Tenant tenant, CachedTenantAuth cachedTenantAuth) {
+        if (!isCurrent(tenant)) {
+            logger.info("Tenant {} changed during login, token not cached", tenant.getName());
+            return;
+        }
+        cachedTenantAuths.put(tenant.getName(), cachedTenantAuth);
+        if (!isCurrent(tenant)) {
+            cachedTenantAuths.remove(tenant.getName(), cachedTenantAuth);
+        }
     }
 
-    private CachedTenantAuth getTenantAuthData(Tenant tenant) {
-        CachedTenantAuth cachedTenantAuth = cachedTenantAuths.get(tenant.getName());
-        if (cachedTenantAuth == null || isAccessTokenExpired(cachedTenantAuth.getAccessTokenExpiration())) {
-            cachedTenantAuth = login(tenant);
-            cachedTenantAuths.put(tenant.getName(), cachedTenantAuth);
+    private boolean isCurrent(Tenant tenant) {
+        try {
+            return tenantRegistry.getTenant(tenant.getName()) == tenant;
+        } catch (TenantNotExistException e) {
+            return false;
         }
-        return cachedTenantAuth;
+    }
+
+    private void refreshExpiringTokens() {
+        cachedTenantAuths.forEach((tenantName, cachedTenantAuth) -> {
+            if (isExpired(cachedTenantAuth, refreshBeforeExpirySeconds)) {
+                try {
+                    refresh(tenantRegistry.getTenant(tenantName));
+                } catch (TenantNotExistException e) {
+                    cachedTenantAuths.remove(tenantName);
+                }
+            }
+        });
     }
 
     private CachedTenantAuth login(Tenant tenant) {
@@ -81,9 +199,18 @@ public class TenantService {
             return new CachedTenantAuth(
                     "Basic " + Base64.getEncoder().encodeToString((tenant.getUser() + ":" + tenant.getPassword()).getBytes(UTF_8)), null);
         } else if ("1.2".equals(amsLocalVersion) && "oauth".equals(tenantAuthtype)) {
-            // TODO implement
-            throw new RuntimeException("Unsupported authType: " + tenantAuthtype + ", for local fsp version: " + amsLocalVersion
-                    + ", for tenant: " + tenant.getName());
+            Exchange ex = new DefaultExchange(camelContext);
+            ex.setProperty(TENANT_ID, tenant.getName());
+            ex.setProperty(LOGIN_USERNAME, tenant.getUser());
+            ex.setProperty(LOGIN_PASSWORD, tenant.getPassword());
+            producerTemplate.send("direct:fin12-oauth", ex);
+            LoginFineractResponseDTO response = ex.getException() == null ? ex.getMessage().getBody(LoginFineractResponseDTO.class) : null;
+            if (response == null || response.getAccessToken() == null) {
+                throw new RuntimeException("Fineract oauth login failed for tenant: " + tenant.getName(), ex.getException());
+            }
+            // Fineract checks the bearer token instead of the password hash of basic auth on every call
+            Date expiration = response.getExpiresIn() > 0 ? new Date(System.currentTimeMillis() + response.getExpiresIn() * 1000) : null;
+            return new CachedTenantAuth("Bearer " + response.getAccessToken(), expiration);
         } else if ("cn".equals(amsLocalVersion) && "oauth".equals(tenantAuthtype)) {
             Exchange ex = new DefaultExchange(camelContext);
             ex.setProperty(TENANT_ID, tenant.getName());
@@ -98,12 +225,11 @@ public class TenantService {
         }
     }
 
-    private boolean isAccessTokenExpired(Date accessTokenExpiration) {
-        if (accessTokenExpiration == null) { // basic is stateless and has no expiration
-            return false;
-        }
-
-        Date fiveMinsFromNow = new Date(System.currentTimeMillis() + 300 * 1000);
-        return accessTokenExpiration.before(fiveMinsFromNow);
+    /**
+     * Whether the token expires within the given seconds, basic auth is stateless and has no expiration.
+     */
+    private boolean isExpired(CachedTenantAuth cachedTenantAuth, long withinSeconds) {
+        Date accessTokenExpiration = cachedTenantAuth.getAccessTokenExpiration();
+        return accessTokenExpiration != null && accessTokenExpiration.getTime() < System.currentTimeMillis() + withinSeconds * 1000;
     }
 }
@@ -0,0 +1,54 @@
+package org.mifos.connector.ams.tenant;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.mifos.connector.ams.properties.Tenant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint changing the tenants of {@link TenantRegistry} without a restart, e.g.
+ * {@code POST /fineract/actuator/tenants/tn03} with {@code {"user": "mifos", "password": "password", "authtype": "basic",
+ * "fspId": "in03tn03"}}. Not exposed over HTTP unless listed in {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "tenants")
+public class TenantsEndpoint {
+
+    @Autowired
+    private TenantRegistry tenantRegistry;
+
+    /**
+     * Tenants without their credentials.
+     */
+    @ReadOperation
+    public List<Map<String, String>> tenants() {
+        return tenantRegistry.getTenants().stream()
+                .map(tenant -> Map.of("name", tenant.getName(), "authtype", String.valueOf(tenant.getAuthtype()), "fspId",
+                        String.valueOf(tenant.getFspId())))
+                .collect(Collectors.toList());
+    }
+
+    @WriteOperation
+    public void putTenant(@Selector String name, String user, String password, String authtype, @Nullable String fspId) {
+        Tenant tenant = new Tenant();
+        tenant.setName(name);
+        tenant.setUser(user);
+        tenant.setPassword(password);
+        tenant.setAuthtype(authtype);
+        tenant.setFspId(fspId);
+        tenantRegistry.putTenant(tenant);
+    }
+
+    @DeleteOperation
+    public boolean removeTenant(@Selector String name) {
+        return tenantRegistry.removeTenant(name);
+    }
+}
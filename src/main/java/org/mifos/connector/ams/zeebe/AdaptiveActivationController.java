@@ -0,0 +1,298 @@
+package org.mifos.connector.ams.zeebe;
+
+import io.camunda.zeebe.client.api.worker.JobHandler;
+import io.camunda.zeebe.client.api.worker.JobWorker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.mifos.connector.ams.camel.cxfrs.FineractCallStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes {@code maxJobsActive} of each job worker from the Fineract call latency and the latency and jobs in flight of its job
+ * type. A job is in flight from the start of its handler until {@link JobDrainManager} sees it completed, also when the
+ * handler returned earlier, in async mode or on a bulkhead. While Fineract and the jobs of a type respond as fast as they do
+ * unloaded and the jobs use their limit, the limit grows, when either slows down it shrinks, so jobs are not activated only to
+ * time out. A worker stops polling while its jobs in flight reach its limit, and all workers stop while every one of the
+ * {@code zeebe.client.max-execution-threads} handler threads is busy.
+ *
+ * <p>
+ * Zeebe workers have a fixed {@code maxJobsActive}, a changed limit is applied by reopening the worker. Jobs activated by the
+ * closed worker are still handled.
+ */
+@Component
+public class AdaptiveActivationController {
+
+    /**
+     * Opens a worker for one job type.
+     */
+    @FunctionalInterface
+    public interface WorkerFactory {
+
+        JobWorker open(JobHandler handler, int maxJobsActive);
+    }
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${zeebe.client.adaptive-activation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${zeebe.client.adaptive-activation.min-jobs:8}")
+    private int minJobs;
+
+    @Value("${zeebe.client.adaptive-activation.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${zeebe.client.evenly-allocated-max-jobs}")
+    private int maxJobs;
+
+    @Value("${zeebe.client.max-execution-threads}")
+    private int handlerThreads;
+
+    @Autowired
+    private FineractCallStats fineractCallStats;
+
+    private final Map<String, ManagedWorker> workers = new ConcurrentHashMap<>();
+    private final AtomicInteger handlersRunning = new AtomicInteger();
+    private double fineractNoLoadLatencyNanos = -1;
+    private double fineractGradient = 1;
+    private volatile boolean saturated;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean closed;
+
+    @PostConstruct
+    public void setup() {
+        if (!enabled) {
+            return;
+        }
+        logger.info("Adaptive job activation enabled, limits between {} and {} jobs per worker", minJobs, maxJobs);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "adaptive-activation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::adjust, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        Gauge.builder("zeebe.worker.handlers.running", handlersRunning, AtomicInteger::get)
+                .description("Job handlers running on the job worker threads").register(meterRegistry);
+        Gauge.builder("zeebe.worker.handlers.saturated", this, c -> c.saturated ? 1 : 0)
+                .description("1 while all workers stop polling because every handler thread is busy").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Opens the worker of the job type, with the configured {@code maxJobsActive} unless adaptive activation is enabled.
+     */
+    public void register(String jobType, JobHandler handler, WorkerFactory factory) {
+        ManagedWorker worker = new ManagedWorker(handler, factory, maxJobs);
+        workers.put(jobType, worker);
+        worker.open();
+        if (!enabled) {
+            return;
+        }
+
+        Gauge.builder("zeebe.worker.max.jobs.active", worker, w -> w.paused ? 0 : w.limit).tag("jobType", jobType)
+                .description("Current activation limit of the worker").register(meterRegistry);
+        Gauge.builder("zeebe.worker.jobs.inflight", worker.inFlight, AtomicInteger::get).tag("jobType", jobType)
+                .description("Jobs of the type activated and not yet completed").register(meterRegistry);
+        Gauge.builder("zeebe.worker.paused", worker, w -> w.paused ? 1 : 0).tag("jobType", jobType)
+                .description("1 while polling is stopped because the jobs in flight reached the limit").register(meterRegistry);
+    }
+
+    /**
+     * Called by {@link JobDrainManager} when a handler starts running on a job worker thread.
+     */
+    public void handlerStarted() {
+        if (enabled) {
+            handlersRunning.incrementAndGet();
+        }
+    }
+
+    /**
+     * Called by {@link JobDrainManager} when a handler returns or throws, before its job may be finished.
+     */
+    public void handlerReturned() {
+        if (enabled) {
+            handlersRunning.decrementAndGet();
+        }
+    }
+
+    /**
+     * Called by {@link JobDrainManager} when the handler of a job starts.
+     */
+    public void jobStarted(String jobType) {
+        ManagedWorker worker = enabled ? workers.get(jobType) : null;
+        if (worker != null) {
+            worker.inFlight.incrementAndGet();
+        }
+    }
+
+    /**
+     * Called by {@link JobDrainManager} when a job was completed or failed.
+     *
+     * @param latencyNanos
+     *            from the start of the handler, -1 if the job was dropped without being completed
+     */
+    public void jobFinished(String jobType, long latencyNanos) {
+        ManagedWorker worker = enabled ? workers.get(jobType) : null;
+        if (worker != null) {
+            worker.inFlight.decrementAndGet();
+            if (latencyNanos >= 0) {
+                worker.record(latencyNanos);
+            }
+        }
+    }
+
+    /**
+     * Stops job activation for good, jobs already activated are still handled.
+     */
+    public void closeWorkers() {
+        closed = true;
+        workers.values().forEach(ManagedWorker::close);
+    }
+
+    private void adjust() {
+        if (closed) {
+            return;
+        }
+        long fineractLatency = fineractCallStats.drainAverageNanos();
+        if (fineractLatency > 0) {
+            fineractNoLoadLatencyNanos = fineractNoLoadLatencyNanos < 0 ? fineractLatency
+                    : Math.min(fineractNoLoadLatencyNanos * 1.01, fineractLatency);
+            fineractGradient = gradient(fineractNoLoadLatencyNanos, fineractLatency);
+        }
+        int running = handlersRunning.get();
+        if (!saturated && running >= handlerThreads) {
+            saturated = true;
+            logger.warn("All {} job handler threads busy, pausing job activation", handlerThreads);
+        } else if (saturated && running < handlerThreads * 8 / 10) {
+            saturated = false;
+            logger.info("Job handler threads below 80% of {}, resuming job activation", handlerThreads);
+        }
+        for (Map.Entry<String, ManagedWorker> entry : workers.entrySet()) {
+            try {
+                adjust(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                logger.error("Failed to adjust the activation limit of worker {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private void adjust(String jobType, ManagedWorker worker) {
+        long latency = worker.drainAverageNanos();
+        int inFlight = worker.inFlight.get();
+        if (latency > 0) {
+            // the lowest latency seen slowly ages out, so a permanently slower Fineract becomes the new baseline
+            worker.noLoadLatencyNanos = worker.noLoadLatencyNanos < 0 ? latency : Math.min(worker.noLoadLatencyNanos * 1.01, latency);
+            worker.limit = nextLimit(worker, latency, inFlight);
+        }
+
+        if (!worker.paused && inFlight >= worker.limit) {
+            worker.paused = true;
+            logger.warn("{} jobs of type {} in flight, pausing its activation", inFlight, jobType);
+        } else if (worker.paused && inFlight < worker.limit * 8 / 10) {
+            worker.paused = false;
+            logger.info("Jobs of type {} in flight below 80% of {}, resuming its activation", jobType, worker.limit);
+        }
+
+        if (worker.paused || saturated) {
+            worker.close();
+        } else if (worker.needsReopen()) {
+            logger.info("Reopening worker {} with maxJobsActive {}", jobType, worker.limit);
+            worker.close();
+            worker.open();
+        }
+    }
+
+    /**
+     * The lower of the Fineract and the job latency gradient, plus a square root headroom to probe for more capacity while at
+     * least half of the limit is in use, smoothed to avoid reopening workers on every spike.
+     */
+    private int nextLimit(ManagedWorker worker, long latency, int inFlight) {
+        int limit = worker.limit;
+        double gradient = Math.min(fineractGradient, gradient(worker.noLoadLatencyNanos, latency));
+        double headroom = inFlight * 2 >= limit ? Math.sqrt(limit) : 0;
+        double target = gradient * limit + headroom;
+        int next = (int) Math.round(0.8 * limit + 0.2 * target);
+        return Math.max(minJobs, Math.min(maxJobs, next));
+    }
+
+    /**
+     * Ratio of the unloaded and the current latency, between 0.5 and 1.
+     */
+    private static double gradient(double noLoadLatencyNanos, long latencyNanos) {
+        return Math.max(0.5, Math.min(1.0, noLoadLatencyNanos / latencyNanos));
+    }
+
+    private static final class ManagedWorker {
+
+        private final JobHandler handler;
+        private final WorkerFactory factory;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile int limit;
+        private volatile boolean paused;
+        private double noLoadLatencyNanos = -1;
+        private long windowNanos;
+        private long windowJobs;
+        private int openedLimit;
+        private JobWorker jobWorker;
+
+        private ManagedWorker(JobHandler handler, WorkerFactory factory, int limit) {
+            this.handler = handler;
+            this.factory = factory;
+            this.limit = limit;
+        }
+
+        private synchronized void open() {
+            if (jobWorker == null) {
+                openedLimit = limit;
+                jobWorker = factory.open(handler, openedLimit);
+            }
+        }
+
+        private synchronized void close() {
+            if (jobWorker != null) {
+                jobWorker.close();
+                jobWorker = null;
+            }
+        }
+
+        private synchronized boolean needsReopen() {
+            return jobWorker == null || Math.abs(limit - openedLimit) * 5 >= openedLimit;
+        }
+
+        private synchronized void record(long latencyNanos) {
+            windowNanos += latencyNanos;
+            windowJobs++;
+        }
+
+        /**
+         * Average latency of the jobs finished since the previous call in nanoseconds, or -1 if none finished in between.
+         */
+        private synchronized long drainAverageNanos() {
+            long average = windowJobs == 0 ? -1 : windowNanos / windowJobs;
+            windowNanos = 0;
+            windowJobs = 0;
+            return average;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.mifos.connector.ams.zeebe;
+
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import io.camunda.zeebe.client.api.worker.JobClient;
+import io.camunda.zeebe.client.api.worker.JobHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import org.mifos.connector.ams.properties.BulkheadProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the handlers of the configured job types on their own bounded pool, so a backlog of slow jobs, e.g.
+ * {@code payee-loan-transfer}, does not starve the payer critical path running on the shared Zeebe pool.
+ *
+ * <p>
+ * The Zeebe handler only queues the job. A job not fitting into the queue is failed back with its retries unchanged, to be
+ * activated again after {@code zeebe.client.bulkheads.rejected-retry-backoff-ms}.
+ */
+@Component
+public class JobBulkheads {
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private BulkheadProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JobDrainManager jobDrainManager;
+
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    @PreDestroy
+    public void shutdown() {
+        bulkheads.values().forEach(bulkhead -> bulkhead.executor.shutdownNow());
+    }
+
+    /**
+     * Wraps the handler to run on the bulkhead of the job type, the handler is returned as is if the job type has none.
+     */
+    public JobHandler isolate(String jobType, JobHandler handler) {
+        if (!properties.isEnabled()) {
+            return handler;
+        }
+        String name = bulkheadName(jobType);
+        if (name == null) {
+            return handler;
+        }
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(name, this::createBulkhead);
+        logger.info("Worker {} runs on bulkhead {}", jobType, name);
+        return (client, job) -> {
+            try {
+                bulkhead.executor.execute(() -> handle(handler, client, job));
+            } catch (RejectedExecutionException e) {
+                bulkhead.rejected.increment();
+                logger.warn("Bulkhead {} full, failing back job {}", name, job.getKey());
+                jobDrainManager.finished(job.getKey());
+                client.newFailCommand(job.getKey()).retries(job.getRetries())
+                        .retryBackoff(Duration.ofMillis(properties.getRejectedRetryBackoffMs()))
+                        .errorMessage("Bulkhead " + name + " full").send();
+            }
+        };
+    }
+
+    private void handle(JobHandler handler, JobClient client, ActivatedJob job) {
+        try {
+            handler.handle(client, job);
+        } catch (Exception e) {
+            // same as the job worker does for a handler failing on its own pool
+            logger.error("Failed to process job {} of type {}", job.getKey(), job.getType(), e);
+            jobDrainManager.finished(job.getKey());
+            client.newFailCommand(job.getKey()).retries(Math.max(job.getRetries() - 1, 0))
+                    .errorMessage(String.valueOf(e.getMessage())).send();
+        }
+    }
+
+    private String bulkheadName(String jobType) {
+        for (String name : properties.getJobTypes().keySet()) {
+            if (jobType.equals(name) || jobType.startsWith(name + "-")) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private Bulkhead createBulkhead(String name) {
+        BulkheadProperties.Bulkhead config = properties.getJobTypes().get(name);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(config.getMaxConcurrency(), config.getMaxConcurrency(), 60,
+                TimeUnit.SECONDS, new ArrayBlockingQueue<>(config.getQueueSize()),
+                runnable -> new Thread(runnable, "bulkhead-" + name + "-" + counter.getAndIncrement()));
+        executor.allowCoreThreadTimeOut(true);
+        logger.info("Bulkhead {} with {} threads and a queue of {} jobs", name, config.getMaxConcurrency(), config.getQueueSize());
+
+        Bulkhead bulkhead = new Bulkhead(executor,
+                Counter.builder("zeebe.bulkhead.rejected").tag("bulkhead", name).description("Jobs failed back on a full queue")
+                        .register(meterRegistry));
+        Gauge.builder("zeebe.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount).tag("bulkhead", name)
+                .description("Jobs being handled").register(meterRegistry);
+        Gauge.builder("zeebe.bulkhead.queued", executor, e -> e.getQueue().size()).tag("bulkhead", name)
+                .description("Jobs waiting for a thread").register(meterRegistry);
+        Gauge.builder("zeebe.bulkhead.saturation", executor,
+                e -> (double) (e.getActiveCount() + e.getQueue().size()) / (e.getMaximumPoolSize() + config.getQueueSize()))
+                .tag("bulkhead", name).description("Share of threads and queue in use, 1 means jobs are rejected")
+                .register(meterRegistry);
+        return bulkhead;
+    }
+
+    private static final class Bulkhead {
+
+        private final ThreadPoolExecutor executor;
+        private final Counter rejected;
+
+        private Bulkhead(ThreadPoolExecutor executor, Counter rejected) {
+            this.executor = executor;
+            this.rejected = rejected;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.mifos.connector.ams.zeebe;
+
+import io.camunda.zeebe.client.ZeebeClient;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Completes Zeebe jobs without waiting for the broker. Completions are pipelined up to
+ * {@code zeebe.client.completion.max-in-flight}, further completions are queued and sent as earlier ones are answered. Callers
+ * never block, they are often CXF, HTTP client or gRPC threads receiving responses. The queue holds at most the jobs activated
+ * by the workers. Transient gateway errors, e.g. during a leader election, are retried with exponential backoff of up to
+ * {@code zeebe.client.completion.max-retry-backoff-ms} until shortly before the job deadline, jobs without a known deadline
+ * {@code max-retries} times.
+ *
+ * <p>
+ * When the broker rejects a completion, or it is still not accepted at the deadline, the job is failed without retries, so an
+ * incident is raised instead of the job timing out and repeating the Fineract call.
+ */
+@Component
+public class JobCompletionService {
+
+    private static final Set<Status.Code> TRANSIENT_ERRORS = EnumSet.of(Status.Code.UNAVAILABLE, Status.Code.RESOURCE_EXHAUSTED,
+            Status.Code.DEADLINE_EXCEEDED);
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired(required = false)
+    private ZeebeClient zeebeClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JobDrainManager jobDrainManager;
+
+    @Value("${zeebe.client.completion.max-in-flight:500}")
+    private int maxInFlight;
+
+    @Value("${zeebe.client.completion.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${zeebe.client.completion.retry-backoff-ms:100}")
+    private long retryBackoffMs;
+
+    @Value("${zeebe.client.completion.max-retry-backoff-ms:5000}")
+    private long maxRetryBackoffMs;
+
+    private Semaphore permits;
+    private final Queue<PendingCompletion> pending = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService retryScheduler;
+    private Timer latency;
+    private Counter retries;
+
+    @PostConstruct
+    public void setup() {
+        permits = new Semaphore(maxInFlight);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-completion-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        latency = Timer.builder("zeebe.job.completion.latency").description("Time until the broker accepted a job completion")
+                .register(meterRegistry);
+        retries = Counter.builder("zeebe.job.completion.retries").description("Job completions resent after a transient error")
+                .register(meterRegistry);
+        Gauge.builder("zeebe.job.completion.inflight", permits, p -> maxInFlight - p.availablePermits())
+                .description("Job completions waiting for the broker").register(meterRegistry);
+        Gauge.builder("zeebe.job.completion.queued", pending, Queue::size)
+                .description("Job completions waiting for one of max-in-flight to be answered").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+
+    public void complete(long jobKey, Map<String, Object> variables) {
+        long startNanos = System.nanoTime();
+        if (permits.tryAcquire()) {
+            send(jobKey, variables, startNanos, 0);
+            return;
+        }
+        pending.add(new PendingCompletion(jobKey, variables, startNanos));
+        // a permit released before the add would not send it
+        sendPending();
+    }
+
+    private void release() {
+        permits.release();
+        sendPending();
+    }
+
+    private void sendPending() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            PendingCompletion completion = pending.poll();
+            if (completion == null) {
+                permits.release();
+                return;
+            }
+            send(completion.jobKey, completion.variables, completion.startNanos, 0);
+        }
+    }
+
+    private void send(long jobKey, Map<String, Object> variables, long startNanos, int attempt) {
+        try {
+            zeebeClient.newCompleteCommand(jobKey).variables(variables).send().whenComplete((response, error) -> {
+                if (error == null) {
+                    release();
+                    jobDrainManager.finished(jobKey);
+                    latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                } else {
+                    onFailure(jobKey, variables, startNanos, attempt, error);
+                }
+            });
+        } catch (RuntimeException e) {
+            onFailure(jobKey, variables, startNanos, attempt, e);
+        }
+    }
+
+    private void onFailure(long jobKey, Map<String, Object> variables, long startNanos, int attempt, Throwable error) {
+        Status.Code code = Status.fromThrowable(error).getCode();
+        boolean transientError = TRANSIENT_ERRORS.contains(code);
+        long delay = Math.min(retryBackoffMs << Math.min(attempt, 20), maxRetryBackoffMs);
+        if (transientError && retryable(jobKey, attempt, delay)) {
+            logger.warn("Completing job {} failed with {}, retrying in {} ms", jobKey, code, delay);
+            retries.increment();
+            retryScheduler.schedule(() -> send(jobKey, variables, startNanos, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        release();
+        jobDrainManager.finished(jobKey);
+        Counter.builder("zeebe.job.completion.failures").tag("status", code.name()).description("Job completions given up")
+                .register(meterRegistry).increment();
+        if (code == Status.Code.NOT_FOUND) {
+            logger.warn("Job {} not found on completion, it was already completed, timed out or canceled", jobKey);
+            return;
+        }
+        logger.error("Failed to complete job {} after {} attempts", jobKey, attempt + 1, error);
+        String reason = transientError ? "Job completion not accepted before the job deadline, last error "
+                : "Job completion rejected with ";
+        try {
+            zeebeClient.newFailCommand(jobKey).retries(0).errorMessage(reason + code + ": " + error.getMessage()).send();
+        } catch (RuntimeException e) {
+            logger.error("Failed to raise an incident for job {}, it is retried after its timeout", jobKey, e);
+        }
+    }
+
+    /**
+     * Whether the retry is sent early enough to still fail the job before its deadline, if the retry fails as well.
+     */
+    private boolean retryable(long jobKey, int attempt, long delay) {
+        long deadline = jobDrainManager.deadline(jobKey);
+        if (deadline == 0) {
+            return attempt < maxRetries;
+        }
+        return System.currentTimeMillis() + delay + maxRetryBackoffMs < deadline;
+    }
+
+    private static final class PendingCompletion {
+
+        private final long jobKey;
+        private final Map<String, Object> variables;
+        private final long startNanos;
+
+        private PendingCompletion(long jobKey, Map<String, Object> variables, long startNanos) {
+            this.jobKey = jobKey;
+            this.variables = variables;
+            this.startNanos = startNanos;
+        }
+    }
+}
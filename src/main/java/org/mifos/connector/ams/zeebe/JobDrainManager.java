@@ -0,0 +1,185 @@
+package org.mifos.connector.ams.zeebe;
+
+import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import io.camunda.zeebe.client.api.worker.JobHandler;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the activated jobs on shutdown. Job activation is stopped, jobs in flight get {@code zeebe.client.drain.timeout-ms} to
+ * be completed, the rest is failed back with their retries unchanged, so another instance picks them up after
+ * {@code zeebe.client.drain.retry-backoff-ms} instead of after the job timeout.
+ *
+ * <p>
+ * A job is in flight from the start of its handler until its completion is accepted, including the Camel route it is handed
+ * to. The manager depends on the Camel context, so it is stopped before the routes are.
+ */
+@Component
+public class JobDrainManager implements SmartLifecycle {
+
+    private static final long PURGE_INTERVAL_MS = 1000;
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired(required = false)
+    private ZeebeClient zeebeClient;
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @Autowired
+    private AdaptiveActivationController activationController;
+
+    @Value("${zeebe.client.drain.timeout-ms:20000}")
+    private long drainTimeoutMs;
+
+    @Value("${zeebe.client.drain.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    private final Map<Long, InFlightJob> inFlight = new ConcurrentHashMap<>();
+    private ScheduledExecutorService purgeScheduler;
+    private volatile boolean running;
+    private volatile boolean draining;
+
+    /**
+     * Wraps a job handler to track its jobs. Jobs reaching the handler once draining started are failed back without being
+     * handled.
+     */
+    public JobHandler track(JobHandler handler) {
+        return (client, job) -> {
+            if (draining) {
+                failBack(job, "Connector is shutting down");
+                return;
+            }
+            inFlight.put(job.getKey(), new InFlightJob(job, System.nanoTime()));
+            activationController.jobStarted(job.getType());
+            activationController.handlerStarted();
+            try {
+                handler.handle(client, job);
+            } catch (Exception e) {
+                finished(job.getKey()); // failed by the job worker
+                throw e;
+            } finally {
+                activationController.handlerReturned();
+            }
+        };
+    }
+
+    /**
+     * The job was completed or failed, it no longer holds up the shutdown.
+     */
+    public void finished(long jobKey) {
+        InFlightJob finished = inFlight.remove(jobKey);
+        if (finished != null) {
+            activationController.jobFinished(finished.job.getType(), System.nanoTime() - finished.startNanos);
+        }
+    }
+
+    /**
+     * @return the deadline of the job in epoch millis, 0 if it is not in flight
+     */
+    public long deadline(long jobKey) {
+        InFlightJob inFlightJob = inFlight.get(jobKey);
+        return inFlightJob == null ? 0 : inFlightJob.job.getDeadline();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        purgeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-drain-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // on its own timer, a worker paused for the leaked jobs would never track another job to trigger it
+        purgeScheduler.scheduleWithFixedDelay(this::removeTimedOut, PURGE_INTERVAL_MS, PURGE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        draining = true;
+        running = false;
+        if (purgeScheduler != null) {
+            purgeScheduler.shutdownNow();
+        }
+        activationController.closeWorkers();
+        logger.info("Job activation stopped, waiting up to {} ms for {} jobs in flight", drainTimeoutMs, inFlight.size());
+
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            removeTimedOut();
+            if (inFlight.isEmpty()) {
+                logger.info("All jobs in flight finished");
+                return;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        logger.warn("Failing back {} jobs still in flight", inFlight.size());
+        for (InFlightJob inFlightJob : inFlight.values()) {
+            failBack(inFlightJob.job, "Connector shut down before the job finished");
+        }
+        inFlight.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Jobs of routes that never completed them are dropped once the broker timed them out, checked every second.
+     */
+    private void removeTimedOut() {
+        long now = System.currentTimeMillis();
+        inFlight.values().removeIf(inFlightJob -> {
+            if (inFlightJob.job.getDeadline() >= now) {
+                return false;
+            }
+            activationController.jobFinished(inFlightJob.job.getType(), -1);
+            return true;
+        });
+    }
+
+    private void failBack(ActivatedJob job, String reason) {
+        try {
+            zeebeClient.newFailCommand(job.getKey()).retries(job.getRetries()).retryBackoff(Duration.ofMillis(retryBackoffMs))
+                    .errorMessage(reason).send().join(5, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to fail back job {}, it is retried after its timeout", job.getKey(), e);
+        }
+    }
+
+    private static final class InFlightJob {
+
+        private final ActivatedJob job;
+        private final long startNanos;
+
+        private InFlightJob(ActivatedJob job, long startNanos) {
+            this.job = job;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.mifos.connector.ams.zeebe;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Variables of one activated job. The variable document is parsed once by the handler, typed values are bound on first access
+ * and kept for the rest of the job, including the Camel route it is handed to. A binding is reused only as long as the
+ * variable still holds the value it was bound from.
+ */
+public class JobVariables {
+
+    private final Map<String, Object> variables;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Binding> bindings = new HashMap<>();
+
+    public JobVariables(Map<String, Object> variables, ObjectMapper objectMapper) {
+        this.variables = variables;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The parsed variables, changes made by the handler are seen by later lookups.
+     */
+    public Map<String, Object> asMap() {
+        return variables;
+    }
+
+    public Object get(String name) {
+        return variables.get(name);
+    }
+
+    /**
+     * Binds the variable to the given type, JSON strings and objects are mapped with Jackson, anything else is cast.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String name, Class<T> type) throws JsonProcessingException {
+        Object value = variables.get(name);
+        Binding bound = bindings.get(name);
+        if (bound != null && bound.source == value && type.isInstance(bound.value)) {
+            return (T) bound.value;
+        }
+
+        T result;
+        if (value instanceof Map) {
+            result = objectMapper.convertValue(value, type);
+        } else if (value instanceof String && type != String.class) {
+            result = objectMapper.readValue((String) value, type);
+        } else {
+            return (T) value;
+        }
+        bindings.put(name, new Binding(value, result));
+        return result;
+    }
+
+    private static final class Binding {
+
+        private final Object source;
+        private final Object value;
+
+        private Binding(Object source, Object value) {
+            this.source = source;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.mifos.connector.ams.zeebe;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors the Zeebe client can run activated jobs on.
+ */
+public final class JobWorkerExecutors {
+
+    private JobWorkerExecutors() {}
+
+    /**
+     * Fixed pool of platform threads, the same as the client builds from {@code numJobWorkerExecutionThreads}.
+     */
+    public static ScheduledExecutorService platformThreads(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> new Thread(runnable, "zeebe-job-" + counter.getAndIncrement());
+        return Executors.newScheduledThreadPool(threads, factory);
+    }
+
+    /**
+     * Every pool worker is a virtual thread, so a handler blocked on a Fineract call parks instead of holding an OS thread.
+     * {@code maxConcurrentJobs} still bounds how many jobs run at the same time.
+     */
+    public static ScheduledExecutorService virtualThreads(int maxConcurrentJobs) {
+        return Executors.newScheduledThreadPool(maxConcurrentJobs, Thread.ofVirtual().name("zeebe-vjob-", 0).factory());
+    }
+}
@@ -0,0 +1,73 @@
+package org.mifos.connector.ams.zeebe;
+
+import static org.mifos.connector.ams.camel.config.CamelProperties.PROCESS_TYPE;
+import static org.mifos.connector.ams.camel.config.CamelProperties.X_CALLBACKURL;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.ACCOUNT;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.ACCOUNT_NUMBER;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.BOOK_TRANSACTION_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.CHANNEL_REQUEST;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_RESOLVED_AT;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_RESOLVED_FOR;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_SIGNATURE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.FINERACT_RESPONSE_BODY;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.LOCAL_QUOTE_RESPONSE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.NOTE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID_TYPE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.QUOTE_SWITCH_REQUEST;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.REQUESTED_DATE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.TRANSACTION_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.TRANSFER_CODE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Process variables each worker reads, either in the handler or later in the Camel route. Only these are fetched when a job is
+ * activated, so a variable read anywhere downstream has to be added here as well.
+ */
+public final class WorkerVariables {
+
+    /**
+     * Read by {@code PrepareTransferRequest} for every route ending in {@code direct:send-transfers}.
+     */
+    public static final List<String> TRANSFER_REQUEST = List.of("initiator", "initiatorType", "scenario", NOTE, "amount", "fspFee",
+            "fspCommission");
+
+    /**
+     * Read by {@code ExternalAccountReuse} to skip the lookup of the {@code externalAccountId} of the quote.
+     */
+    public static final List<String> RESOLVED_EXTERNAL_ACCOUNT = List.of(EXTERNAL_ACCOUNT_RESOLVED_FOR, EXTERNAL_ACCOUNT_RESOLVED_AT,
+            EXTERNAL_ACCOUNT_SIGNATURE);
+
+    public static final List<String> BLOCK_FUNDS = transfer(TRANSACTION_ID, CHANNEL_REQUEST, EXTERNAL_ACCOUNT_ID, TENANT_ID,
+            LOCAL_QUOTE_RESPONSE, PROCESS_TYPE, "payeeTenantId");
+    public static final List<String> BOOK_FUNDS = transfer(TRANSACTION_ID, CHANNEL_REQUEST, TENANT_ID, EXTERNAL_ACCOUNT_ID,
+            LOCAL_QUOTE_RESPONSE, TRANSFER_CODE, "payeeTenantId");
+    public static final List<String> RELEASE_BLOCK = BOOK_FUNDS;
+    public static final List<String> PAYER_LOCAL_QUOTE = List.of(CHANNEL_REQUEST, TENANT_ID, TRANSACTION_ID);
+    public static final List<String> PAYEE_QUOTE = List.of(QUOTE_SWITCH_REQUEST, TENANT_ID, TRANSACTION_ID);
+    public static final List<String> PAYEE_COMMIT_TRANSFER = transfer(BOOK_TRANSACTION_ID, TRANSACTION_ID, TENANT_ID, EXTERNAL_ACCOUNT_ID,
+            LOCAL_QUOTE_RESPONSE, QUOTE_SWITCH_REQUEST);
+    public static final List<String> PARTY_LOOKUP_LOCAL = List.of(PARTY_ID_TYPE, PARTY_ID, TENANT_ID, "payeeTenantId");
+    public static final List<String> INTEROP_PARTY_REGISTRATION = List.of(PARTY_ID_TYPE, PARTY_ID, ACCOUNT, TENANT_ID);
+    public static final List<String> PAYEE_DEPOSIT_TRANSFER = transfer(TRANSACTION_ID, TENANT_ID, EXTERNAL_ACCOUNT_ID, CHANNEL_REQUEST,
+            "payeeTenantId");
+    public static final List<String> PAYEE_LOAN_TRANSFER = List.of(TRANSACTION_ID, TENANT_ID, CHANNEL_REQUEST, ACCOUNT_NUMBER,
+            REQUESTED_DATE, "payeeTenantId");
+    public static final List<String> ACCOUNT_IDENTIFIER = List.of(TENANT_ID, CHANNEL_REQUEST);
+    public static final List<String> SEND_CALLBACK = List.of(X_CALLBACKURL, FINERACT_RESPONSE_BODY);
+
+    private WorkerVariables() {}
+
+    private static List<String> transfer(String... names) {
+        List<String> variables = new ArrayList<>(Arrays.asList(names));
+        variables.addAll(TRANSFER_REQUEST);
+        variables.addAll(RESOLVED_EXTERNAL_ACCOUNT);
+        return Collections.unmodifiableList(variables);
+    }
+}
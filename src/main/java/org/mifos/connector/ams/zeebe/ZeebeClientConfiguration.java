@@ -1,7 +1,10 @@
 package org.mifos.connector.ams.zeebe;
 
 import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.ZeebeClientBuilder;
 import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
@@ -11,16 +14,40 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnExpression("${zeebe.enabled:true}")
 public class ZeebeClientConfiguration {
 
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
     @Value("${zeebe.broker.contactpoint}")
     private String zeebeBrokerContactpoint;
 
     @Value("${zeebe.client.max-execution-threads}")
     private int zeebeClientMaxThreads;
 
+    @Value("${zeebe.client.virtual-threads.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${zeebe.client.job-streaming.enabled:false}")
+    private boolean jobStreamingEnabled;
+
+    @Value("${zeebe.client.job-streaming.poll-interval-ms:1000}")
+    private long streamingPollIntervalMs;
+
     @Bean
     public ZeebeClient setup() {
-        return ZeebeClient.newClientBuilder().gatewayAddress(zeebeBrokerContactpoint).usePlaintext()
-                .defaultJobPollInterval(Duration.ofMillis(1)).defaultJobWorkerMaxJobsActive(2000)
-                .numJobWorkerExecutionThreads(zeebeClientMaxThreads).build();
+        ZeebeClientBuilder builder = ZeebeClient.newClientBuilder().gatewayAddress(zeebeBrokerContactpoint).usePlaintext()
+                .defaultJobWorkerMaxJobsActive(2000);
+        if (jobStreamingEnabled) {
+            // jobs are pushed as they are created, polling only picks up jobs created while no stream was open
+            logger.info("Zeebe job streaming enabled, polling every {} ms as fallback", streamingPollIntervalMs);
+            builder.defaultJobWorkerStreamEnabled(true).defaultJobPollInterval(Duration.ofMillis(streamingPollIntervalMs));
+        } else {
+            builder.defaultJobPollInterval(Duration.ofMillis(1));
+        }
+        if (virtualThreadsEnabled) {
+            logger.info("Running Zeebe job handlers on virtual threads, max {} concurrent jobs", zeebeClientMaxThreads);
+            builder.jobWorkerExecutor(JobWorkerExecutors.virtualThreads(zeebeClientMaxThreads), true);
+        } else {
+            builder.jobWorkerExecutor(JobWorkerExecutors.platformThreads(zeebeClientMaxThreads), true);
+        }
+        return builder.build();
     }
 }
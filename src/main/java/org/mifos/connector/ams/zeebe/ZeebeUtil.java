@@ -46,6 +46,10 @@ public class ZeebeUtil {
     public List<String> accountPrefixes;
 
     public static void zeebeVariablesToCamelProperties(Map<String, Object> variables, Exchange exchange, String... names) {
+        zeebeVariablesToCamelProperties(new JobVariables(variables, objectMapper), exchange, names);
+    }
+
+    public static void zeebeVariablesToCamelProperties(JobVariables variables, Exchange exchange, String... names) {
         exchange.setProperty("zeebeVariables", variables);
 
         for (String name : names) {
@@ -58,16 +62,16 @@ public class ZeebeUtil {
         }
     }
 
+    public static JobVariables jobVariablesFrom(Exchange exchange) {
+        return exchange.getProperty("zeebeVariables", JobVariables.class);
+    }
+
     public static Map<String, Object> zeebeVariablesFrom(Exchange exchange) {
-        return exchange.getProperty("zeebeVariables", Map.class);
+        return jobVariablesFrom(exchange).asMap();
     }
 
     public static <T> T zeebeVariable(Exchange exchange, String name, Class<T> clazz) throws Exception {
-        Object content = zeebeVariablesFrom(exchange).get(name);
-        if (content instanceof Map) {
-            return objectMapper.readValue(objectMapper.writeValueAsString(content), clazz);
-        }
-        return (T) content;
+        return jobVariablesFrom(exchange).get(name, clazz);
     }
 
     public static String getCurrentDate(String requestedDate, String dateFormat) {
@@ -14,6 +14,9 @@ public final class ZeebeVariables {
     public static final String CHANNEL_REQUEST = "channelRequest";
     public static final String ERROR_INFORMATION = "errorInformation";
     public static final String EXTERNAL_ACCOUNT_ID = "externalAccountId";
+    public static final String EXTERNAL_ACCOUNT_RESOLVED_AT = "externalAccountResolvedAt";
+    public static final String EXTERNAL_ACCOUNT_RESOLVED_FOR = "externalAccountResolvedFor";
+    public static final String EXTERNAL_ACCOUNT_SIGNATURE = "externalAccountSignature";
     public static final String INTEROP_REGISTRATION_FAILED = "interopRegistrationFailed";
     public static final String LOCAL_QUOTE_FAILED = "localQuoteFailed";
     public static final String LOCAL_QUOTE_RESPONSE = "localQuoteResponse";
@@ -37,17 +37,24 @@ import static org.mifos.connector.common.ams.dto.TransferActionType.RELEASE;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.camunda.zeebe.client.ZeebeClient;
 import io.camunda.zeebe.client.api.response.ActivatedJob;
+import io.camunda.zeebe.client.api.worker.JobClient;
+import io.camunda.zeebe.client.api.worker.JobHandler;
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.support.DefaultExchange;
 import org.json.JSONObject;
-import org.mifos.connector.ams.properties.TenantProperties;
+import org.mifos.connector.ams.camel.cxfrs.AmsCallDispatcher;
+import org.mifos.connector.ams.tenant.TenantRegistry;
 import org.mifos.connector.common.ams.dto.QuoteFspResponseDTO;
 import org.mifos.connector.common.channel.dto.TransactionChannelRequestDTO;
 import org.mifos.connector.common.gsma.dto.GsmaTransfer;
@@ -99,7 +106,22 @@ public class ZeebeeWorkers {
     private ObjectMapper objectMapper;
 
     @Autowired
-    private TenantProperties tenantProperties;
+    private TenantRegistry tenantRegistry;
+
+    @Autowired
+    private AmsCallDispatcher amsCallDispatcher;
+
+    @Autowired
+    private AdaptiveActivationController activationController;
+
+    @Autowired
+    private JobCompletionService jobCompletionService;
+
+    @Autowired
+    private JobDrainManager jobDrainManager;
+
+    @Autowired
+    private JobBulkheads jobBulkheads;
 
     @Value("${ams.local.enabled:false}")
     private boolean isAmsLocalEnabled;
@@ -107,373 +129,493 @@ public class ZeebeeWorkers {
     @Value("#{'${dfspids}'.split(',')}")
     private List<String> dfspids;
 
-    @Value("${zeebe.client.evenly-allocated-max-jobs}")
-    private int workerMaxJobs;
-
     @Value("${zeebe.enabled:true}")
     private boolean isZeebeEnabled;
 
     @Value("${interop-party-registration.enabled}")
     private boolean interopPartyRegistrationEnabled;
 
+    @Value("${zeebe.client.fetch-variables.enabled:true}")
+    private boolean fetchVariablesEnabled;
+
+    @Value("${zeebe.client.shared-workers.enabled:false}")
+    private boolean sharedWorkersEnabled;
+
+    @Value("${zeebe.client.shared-workers.dfsp-header:dfspId}")
+    private String dfspHeader;
+
+    private final Map<String, DfspHandlers> sharedWorkers = new LinkedHashMap<>();
+    private final Set<String> knownTenants = new HashSet<>();
+
     @PostConstruct
     public void setupWorkers() {
         if (isZeebeEnabled) {
-            zeebeClient.newWorker().jobType("block-funds").handler((client, job) -> {
+            openWorker("block-funds", WorkerVariables.BLOCK_FUNDS, (client, job) -> {
                 logWorkerDetails(job);
                 if (isAmsLocalEnabled) {
                     Exchange ex = new DefaultExchange(camelContext);
-                    zeebeVariablesToCamelProperties(job.getVariablesAsMap(), ex, TRANSACTION_ID, CHANNEL_REQUEST, EXTERNAL_ACCOUNT_ID,
-                            TENANT_ID, LOCAL_QUOTE_RESPONSE, PROCESS_TYPE);
-                    TransactionChannelRequestDTO channelRequest = objectMapper.readValue(ex.getProperty(CHANNEL_REQUEST, String.class),
-                            TransactionChannelRequestDTO.class);
+                    JobVariables variables = new JobVariables(job.getVariablesAsMap(), objectMapper);
+                    zeebeVariablesToCamelProperties(variables, ex, TRANSACTION_ID, CHANNEL_REQUEST, EXTERNAL_ACCOUNT_ID, TENANT_ID,
+                            LOCAL_QUOTE_RESPONSE, PROCESS_TYPE);
+                    TransactionChannelRequestDTO channelRequest = variables.get(CHANNEL_REQUEST, TransactionChannelRequestDTO.class);
                     ex.setProperty(PARTY_ID_TYPE, channelRequest.getPayer().getPartyIdInfo().getPartyIdType().name());
                     ex.setProperty(PARTY_ID, channelRequest.getPayer().getPartyIdInfo().getPartyIdentifier());
                     ex.setProperty(TRANSFER_ACTION, PREPARE.name());
                     ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
                     ex.setProperty(TRANSACTION_ROLE, TransactionRole.PAYER.name());
-                    ex.setProperty("payeeTenantId", job.getVariablesAsMap().get("payeeTenantId"));
-                    logger.debug("Payee Id before block funds {}", job.getVariablesAsMap().get("payeeTenantId"));
-                    producerTemplate.send("direct:send-transfers", ex);
-                    logger.info("Zeebe variable {}", job.getVariablesAsMap());
+                    ex.setProperty("payeeTenantId", variables.get("payeeTenantId"));
+                    logger.debug("Payee Id before block funds {}", variables.get("payeeTenantId"));
+                    sendToRoute("direct:send-transfers", ex, client, job);
+                    logger.info("Zeebe variable {}", variables.asMap());
                 } else {
                     Map<String, Object> variables = new HashMap<>();
                     variables.put(TRANSFER_PREPARE_FAILED, false);
-                    zeebeClient.newCompleteCommand(job.getKey()).variables(variables).send();
+                    jobCompletionService.complete(job.getKey(), variables);
                 }
-            }).name("block-funds").maxJobsActive(workerMaxJobs).open();
+            });
 
-            zeebeClient.newWorker().jobType("book-funds").handler((client, job) -> {
+            openWorker("book-funds", WorkerVariables.BOOK_FUNDS, (client, job) -> {
                 logWorkerDetails(job);
                 if (isAmsLocalEnabled) {
                     Exchange ex = new DefaultExchange(camelContext);
-                    zeebeVariablesToCamelProperties(job.getVariablesAsMap(), ex, TRANSACTION_ID, CHANNEL_REQUEST, TENANT_ID,
-                            EXTERNAL_ACCOUNT_ID, LOCAL_QUOTE_RESPONSE, TRANSFER_CODE);
-                    TransactionChannelRequestDTO channelRequest = objectMapper.readValue(ex.getProperty(CHANNEL_REQUEST, String.class),
-                            TransactionChannelRequestDTO.class);
+                    JobVariables variables = new JobVariables(job.getVariablesAsMap(), objectMapper);
+                    zeebeVariablesToCamelProperties(variables, ex, TRANSACTION_ID, CHANNEL_REQUEST, TENANT_ID, EXTERNAL_ACCOUNT_ID,
+                            LOCAL_QUOTE_RESPONSE, TRANSFER_CODE);
+                    TransactionChannelRequestDTO channelRequest = variables.get(CHANNEL_REQUEST, TransactionChannelRequestDTO.class);
                     ex.setProperty(PARTY_ID_TYPE, channelRequest.getPayer().getPartyIdInfo().getPartyIdType().name());
                     ex.setProperty(PARTY_ID, channelRequest.getPayer().getPartyIdInfo().getPartyIdentifier());
                     ex.setProperty(TRANSFER_ACTION, CREATE.name());
                     ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
                     ex.setProperty(TRANSACTION_ROLE, TransactionRole.PAYER.name());
-                    ex.setProperty("payeeTenantId", job.getVariablesAsMap().get("payeeTenantId"));
+                    ex.setProperty("payeeTenantId", variables.get("payeeTenantId"));
                     ex.setProperty("processType", "api");
-                    producerTemplate.send("direct:send-transfers", ex);
+                    sendToRoute("direct:send-transfers", ex, client, job);
                 } else {
                     Map<String, Object> variables = new HashMap<>();
                     variables.put("transferCreateFailed", false);
-                    zeebeClient.newCompleteCommand(job.getKey()).variables(variables).send();
+                    jobCompletionService.complete(job.getKey(), variables);
                 }
-            }).name("book-funds").maxJobsActive(workerMaxJobs).open();
+            });
 
-            zeebeClient.newWorker().jobType("release-block").handler((client, job) -> {
+            openWorker("release-block", WorkerVariables.RELEASE_BLOCK, (client, job) -> {
                 logWorkerDetails(job);
                 if (isAmsLocalEnabled) {
                     Exchange ex = new DefaultExchange(camelContext);
-                    zeebeVariablesToCamelProperties(job.getVariablesAsMap(), ex, TRANSACTION_ID, CHANNEL_REQUEST, TENANT_ID,
-                            EXTERNAL_ACCOUNT_ID, LOCAL_QUOTE_RESPONSE, TRANSFER_CODE);
-                    TransactionChannelRequestDTO channelRequest = objectMapper.readValue(ex.getProperty(CHANNEL_REQUEST, String.class),
-                            TransactionChannelRequestDTO.class);
+                    JobVariables variables = new JobVariables(job.getVariablesAsMap(), objectMapper);
+                    zeebeVariablesToCamelProperties(variables, ex, TRANSACTION_ID, CHANNEL_REQUEST, TENANT_ID, EXTERNAL_ACCOUNT_ID,
+                            LOCAL_QUOTE_RESPONSE, TRANSFER_CODE);
+                    TransactionChannelRequestDTO channelRequest = variables.get(CHANNEL_REQUEST, TransactionChannelRequestDTO.class);
                     ex.setProperty(PARTY_ID_TYPE, channelRequest.getPayer().getPartyIdInfo().getPartyIdType().name());
                     ex.setProperty(PARTY_ID, channelRequest.getPayer().getPartyIdInfo().getPartyIdentifier());
                     ex.setProperty(TRANSFER_ACTION, RELEASE.name());
                     ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
                     ex.setProperty(TRANSACTION_ROLE, TransactionRole.PAYEE.name());
-                    ex.setProperty("payeeTenantId", job.getVariablesAsMap().get("payeeTenantId"));
-                    producerTemplate.send("direct:send-transfers", ex);
+                    ex.setProperty("payeeTenantId", variables.get("payeeTenantId"));
+                    sendToRoute("direct:send-transfers", ex, client, job);
                 } else {
                     Map<String, Object> variables = new HashMap<>();
                     variables.put("transferReleaseFailed", false);
-                    zeebeClient.newCompleteCommand(job.getKey()).variables(variables).send();
+                    jobCompletionService.complete(job.getKey(), variables);
                 }
-            }).name("release-block").maxJobsActive(workerMaxJobs).open();
+            });
 
             for (String dfspid : dfspids) {
-                logger.info("DFSPID {}", dfspid);
-                logger.info("## generating " + WORKER_PAYER_LOCAL_QUOTE + "{} worker", dfspid);
-                zeebeClient.newWorker().jobType(WORKER_PAYER_LOCAL_QUOTE + dfspid).handler((client, job) -> {
-                    logWorkerDetails(job);
-                    if (isAmsLocalEnabled) {
-                        Map<String, Object> existingVariables = job.getVariablesAsMap();
-                        TransactionChannelRequestDTO channelRequest = objectMapper
-                                .readValue((String) existingVariables.get(CHANNEL_REQUEST), TransactionChannelRequestDTO.class);
-
-                        Exchange ex = new DefaultExchange(camelContext);
-                        zeebeVariablesToCamelProperties(existingVariables, ex, CHANNEL_REQUEST, TENANT_ID, TRANSACTION_ID);
-
-                        ex.setProperty(PARTY_ID_TYPE, channelRequest.getPayer().getPartyIdInfo().getPartyIdType().name());
-                        ex.setProperty(PARTY_ID, channelRequest.getPayer().getPartyIdInfo().getPartyIdentifier());
-                        ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
-                        ex.setProperty(TRANSACTION_ROLE, TransactionRole.PAYER);
-                        ex.setProperty(QUOTE_AMOUNT_TYPE, AmountType.SEND.name());
-                        producerTemplate.send("direct:send-local-quote", ex);
-                    } else {
-                        Map<String, Object> variables = new HashMap<>();
-                        variables.put(LOCAL_QUOTE_FAILED, false);
-                        zeebeClient.newCompleteCommand(job.getKey()).variables(variables).send();
-                    }
-                }).name(WORKER_PAYER_LOCAL_QUOTE + dfspid).maxJobsActive(workerMaxJobs).open();
-
-                logger.info("## generating " + WORKER_PAYEE_QUOTE + "{} worker", dfspid);
-                zeebeClient.newWorker().jobType(WORKER_PAYEE_QUOTE + dfspid).handler((client, job) -> {
-                    logWorkerDetails(job);
-                    Map<String, Object> existingVariables = job.getVariablesAsMap();
-                    QuoteSwitchRequestDTO quoteRequest = objectMapper.readValue((String) existingVariables.get(QUOTE_SWITCH_REQUEST),
-                            QuoteSwitchRequestDTO.class);
-
-                    if (isAmsLocalEnabled) {
-                        TransactionChannelRequestDTO channelRequest = new TransactionChannelRequestDTO();
-                        TransactionType transactionType = new TransactionType();
-                        transactionType.setInitiator(TransactionRole.PAYEE);
-                        transactionType.setInitiatorType(InitiatorType.CONSUMER);
-                        transactionType.setScenario(Scenario.DEPOSIT);
-                        channelRequest.setTransactionType(transactionType);
-                        channelRequest.setAmountType(AmountType.RECEIVE);
-                        MoneyData amount = new MoneyData(quoteRequest.getAmount().getAmount(), quoteRequest.getAmount().getCurrency());
-                        channelRequest.setAmount(amount);
-
-                        Exchange ex = new DefaultExchange(camelContext);
-                        ex.setProperty(PARTY_ID, quoteRequest.getPayee().getPartyIdInfo().getPartyIdentifier());
-                        ex.setProperty(PARTY_ID_TYPE, quoteRequest.getPayee().getPartyIdInfo().getPartyIdType());
-                        ex.setProperty(TRANSACTION_ID, existingVariables.get(TRANSACTION_ID));
-                        ex.setProperty(TENANT_ID, existingVariables.get(TENANT_ID));
-                        ex.setProperty(TRANSACTION_ROLE, TransactionRole.PAYEE.name());
-                        ex.setProperty(CHANNEL_REQUEST, objectMapper.writeValueAsString(channelRequest));
-                        ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
-                        ex.setProperty(QUOTE_AMOUNT_TYPE, quoteRequest.getAmountType().name());
-                        producerTemplate.send("direct:send-local-quote", ex);
-                    } else {
-                        Map<String, Object> variables = createFreeQuote(quoteRequest.getAmount().getCurrency());
-                        variables.put(QUOTE_FAILED, false);
-                        zeebeClient.newCompleteCommand(job.getKey()).variables(variables).send();
-                    }
-                }).name(WORKER_PAYEE_QUOTE + dfspid).maxJobsActive(workerMaxJobs).open();
-
-                logger.info("## generating " + WORKER_PAYEE_COMMIT_TRANSFER + "{} worker", dfspid);
-                zeebeClient.newWorker().jobType(WORKER_PAYEE_COMMIT_TRANSFER + dfspid).handler((client, job) -> {
-                    logWorkerDetails(job);
-                    if (isAmsLocalEnabled) {
-                        Exchange exchange = new DefaultExchange(camelContext);
-                        Map<String, Object> variables = job.getVariablesAsMap();
-                        zeebeVariablesToCamelProperties(variables, exchange, BOOK_TRANSACTION_ID, TRANSACTION_ID, TENANT_ID,
-                                EXTERNAL_ACCOUNT_ID, LOCAL_QUOTE_RESPONSE);
-                        exchange.setProperty(TRANSFER_ACTION, CREATE.name());
-                        exchange.setProperty(ZEEBE_JOB_KEY, job.getKey());
-
-                        // setting party related variables as exchange property
-                        QuoteSwitchRequestDTO quoteRequest = objectMapper.readValue((String) variables.get(QUOTE_SWITCH_REQUEST),
-                                QuoteSwitchRequestDTO.class);
-                        exchange.setProperty(PARTY_ID, quoteRequest.getPayee().getPartyIdInfo().getPartyIdentifier());
-                        exchange.setProperty(PARTY_ID_TYPE, quoteRequest.getPayee().getPartyIdInfo().getPartyIdType());
-
-                        FspMoneyData amountData = zeebeVariable(exchange, "amount", FspMoneyData.class);
-                        MoneyData amount = new MoneyData(amountData.getAmount(), amountData.getCurrency());
-
-                        TransactionChannelRequestDTO transactionRequest = new TransactionChannelRequestDTO();
-                        TransactionType transactionType = new TransactionType();
-                        transactionType.setInitiator(TransactionRole.PAYEE);
-                        transactionType.setInitiatorType(InitiatorType.CONSUMER);
-                        transactionType.setScenario(Scenario.DEPOSIT);
-                        transactionRequest.setTransactionType(transactionType);
-                        transactionRequest.setAmount(amount);
-                        exchange.setProperty(CHANNEL_REQUEST, objectMapper.writeValueAsString(transactionRequest));
-                        exchange.setProperty(TRANSACTION_ROLE, TransactionRole.PAYEE.name());
-
-                        logger.info("####### transaction request {}", objectMapper.writeValueAsString(transactionRequest));
-                        producerTemplate.send("direct:send-transfers", exchange);
-                    } else {
-                        Map<String, Object> variables = new HashMap<>();
-                        variables.put("transferCreateFailed", false);
-                        zeebeClient.newCompleteCommand(job.getKey()).variables(variables).send();
-                    }
-                }).name(WORKER_PAYEE_COMMIT_TRANSFER + dfspid).maxJobsActive(workerMaxJobs).open();
-
-                logger.info("## generating " + WORKER_PARTY_LOOKUP_LOCAL + "{} worker", dfspid);
-                zeebeClient.newWorker().jobType(WORKER_PARTY_LOOKUP_LOCAL + dfspid).handler((client, job) -> {
-                    logWorkerDetails(job);
-                    Map<String, Object> existingVariables = job.getVariablesAsMap();
-                    String partyIdType = (String) existingVariables.get(PARTY_ID_TYPE);
-                    String partyId = (String) existingVariables.get(PARTY_ID);
-                    String tenantId = (String) existingVariables.get(TENANT_ID); // payer
-                    if (isAmsLocalEnabled) {
-                        Exchange ex = new DefaultExchange(camelContext);
-                        ex.setProperty(PARTY_ID_TYPE, partyIdType);
-                        ex.setProperty(PARTY_ID, partyId);
-                        ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
-                        if (dfspid.equalsIgnoreCase(existingVariables.get("payeeTenantId").toString())) {
-                            ex.setProperty(TENANT_ID, existingVariables.get("payeeTenantId"));
-                        } else {
-                            ex.setProperty(TENANT_ID, tenantId);
-                        }
-                        ex.setProperty("payeeTenantId", existingVariables.get("payeeTenantId"));
-
-                        producerTemplate.send("direct:get-party", ex);
-
-                        /*
-                         * payeeTenantId == dfspid => payee else payer
-                         *
-                         * a = payer tenant b = payee tenant
-                         *
-                         * debit -> gorilla credit -> gorilla
-                         *
-                         * PLATFORM-TENANT-ID -> PAYER/PAYEE
-                         */
-                    } else {
-                        Map<String, Object> variables = new HashMap<>();
-                        Party party = new Party(// only return fspId from configuration
-                                new PartyIdInfo(IdentifierType.valueOf(partyIdType), partyId, null,
-                                        tenantProperties.getTenant(tenantId).getFspId()),
-                                null, null, null);
-
-                        variables.put(PAYEE_PARTY_RESPONSE, objectMapper.writeValueAsString(party));
-                        variables.put("payeeTenantId", existingVariables.get("payeeTenantId"));
-                        client.newCompleteCommand(job.getKey()).variables(variables).send();
-                    }
-                }).name(WORKER_PARTY_LOOKUP_LOCAL + dfspid).maxJobsActive(workerMaxJobs).open();
-
-                logger.info("## generating " + WORKER_INTEROP_PARTY_REGISTRATION + "{} worker", dfspid);
-                zeebeClient.newWorker().jobType(WORKER_INTEROP_PARTY_REGISTRATION + dfspid).handler((client, job) -> {
-                    logWorkerDetails(job);
-                    Map<String, Object> existingVariables = job.getVariablesAsMap();
-
-                    if (!interopPartyRegistrationEnabled) {
-                        Map<String, Object> variables = new HashMap<>();
-                        variables.put(ACCOUNT_CURRENCY, "USD");
-                        variables.put(INTEROP_REGISTRATION_FAILED, false);
-                        client.newCompleteCommand(job.getKey()).variables(variables).send();
-                        logger.info("Interop disabled with variables {}", variables);
-                        return;
-                    }
-
-                    if (isAmsLocalEnabled) {
-                        Exchange ex = new DefaultExchange(camelContext);
-                        ex.setProperty(PARTY_ID_TYPE, existingVariables.get(PARTY_ID_TYPE));
-                        ex.setProperty(PARTY_ID, existingVariables.get(PARTY_ID));
-                        ex.setProperty(ACCOUNT, existingVariables.get(ACCOUNT));
-                        ex.setProperty(TENANT_ID, existingVariables.get(TENANT_ID));
-                        ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
-                        producerTemplate.send("direct:register-party", ex);
-                    } else {
-                        Map<String, Object> variables = new HashMap<>();
-                        variables.put(ACCOUNT_CURRENCY, "TZS");
-                        client.newCompleteCommand(job.getKey()).variables(variables).send();
-                    }
-                }).name(WORKER_INTEROP_PARTY_REGISTRATION + dfspid).maxJobsActive(workerMaxJobs).open();
-
-                logger.info("## generating " + WORKER_PAYEE_DEPOSIT_TRANSFER + "{} worker", dfspid);
-                zeebeClient.newWorker().jobType(WORKER_PAYEE_DEPOSIT_TRANSFER + dfspid).handler((client, job) -> {
-                    logWorkerDetails(job);
-                    Map<String, Object> existingVariables = job.getVariablesAsMap();
-                    logger.info("Exisiting variables {}", existingVariables);
-
-                    String tenantId = (String) existingVariables.get(TENANT_ID);
+                openDfspWorkers(dfspid);
+            }
 
-                    Exchange ex = new DefaultExchange(camelContext);
-                    Map<String, Object> variables = job.getVariablesAsMap();
-                    zeebeVariablesToCamelProperties(variables, ex, TRANSACTION_ID, TENANT_ID, EXTERNAL_ACCOUNT_ID, CHANNEL_REQUEST);
-                    ex.setProperty(TRANSFER_ACTION, CREATE.name());
-                    ex.setProperty("payeeTenantId", existingVariables.get("payeeTenantId"));
-                    ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
+            if (sharedWorkersEnabled) {
+                openSharedWorkers();
+            }
 
-                    TransactionChannelRequestDTO transactionRequest = objectMapper.readValue((String) variables.get(CHANNEL_REQUEST),
-                            TransactionChannelRequestDTO.class);
-                    TransactionType transactionType = new TransactionType();
-                    transactionType.setInitiator(TransactionRole.PAYEE);
-                    transactionType.setInitiatorType(InitiatorType.CONSUMER);
-                    transactionType.setScenario(Scenario.DEPOSIT);
-                    transactionRequest.setTransactionType(transactionType);
-                    variables.put("initiator", transactionType.getInitiator().name());
-                    variables.put("initiatorType", transactionType.getInitiatorType().name());
-                    variables.put("scenario", transactionType.getScenario().name());
-                    variables.get(NOTE);
-                    variables.put("amount", new FspMoneyData(transactionRequest.getAmount().getAmountDecimal(),
-                            transactionRequest.getAmount().getCurrency()));
-                    variables.put("processType", "api");
-
-                    String partyIdType = transactionRequest.getPayee().getPartyIdInfo().getPartyIdType().name();
-                    String partyId = transactionRequest.getPayee().getPartyIdInfo().getPartyIdentifier();
-                    ex.setProperty(PARTY_ID_TYPE, partyIdType);
-                    ex.setProperty(PARTY_ID, partyId);
-                    logger.info("PartyIdType: {}, PartyId: {}", partyIdType, partyId);
-
-                    ex.setProperty(CHANNEL_REQUEST, objectMapper.writeValueAsString(transactionRequest));
-                    ex.setProperty(TRANSACTION_ROLE, TransactionRole.PAYEE.name());
-                    producerTemplate.send("direct:send-transfers", ex);
-                    variables.put("transferCreateFailed", false);
-                    variables.put("payeeTenantId", existingVariables.get("payeeTenantId"));
-                    zeebeClient.newCompleteCommand(job.getKey()).variables(variables).send();
-                }).name(WORKER_PAYEE_DEPOSIT_TRANSFER + dfspid).maxJobsActive(workerMaxJobs).open();
+            knownTenants.addAll(dfspids);
+            tenantRegistry.getTenants().forEach(tenant -> knownTenants.add(tenant.getName()));
+            tenantRegistry.addChangeListener(this::tenantChanged);
 
-                logger.info("## generating {}" + "{} worker", WORKER_PAYEE_LOAN_TRANSFER, dfspid);
-                zeebeClient.newWorker().jobType(WORKER_PAYEE_LOAN_TRANSFER + dfspid).handler((client, job) -> {
-                    logWorkerDetails(job);
-                    Map<String, Object> existingVariables = job.getVariablesAsMap();
-                    logger.debug("Exisiting variables {}", existingVariables);
+            logger.info("## generating {} worker", WORKER_SEND_CALLBACK);
+            openWorker(WORKER_SEND_CALLBACK, WorkerVariables.SEND_CALLBACK, (client, job) -> {
+                logWorkerDetails(job);
+                Map<String, Object> existingVariables = job.getVariablesAsMap();
+                logger.debug("Exisiting variables {}", existingVariables);
+                Exchange ex = new DefaultExchange(camelContext);
+                Map<String, Object> variables = new HashMap<>(existingVariables);
+
+                ex.setProperty(X_CALLBACKURL, existingVariables.get(X_CALLBACKURL));
+                ex.setProperty(FINERACT_RESPONSE_BODY, existingVariables.get(FINERACT_RESPONSE_BODY));
+                producerTemplate.send("direct:send-callback", ex);
+                variables.put(CALLBACK_SUCCESS, ex.getProperty("callbackSent").toString());
+                jobCompletionService.complete(job.getKey(), variables);
+
+            });
+        }
+    }
 
-                    String tenantId = (String) existingVariables.get(TENANT_ID);
+    /**
+     * A tenant added to the {@link TenantRegistry} at runtime becomes a DFSP, its workers are opened or, with shared workers,
+     * its handlers registered. Tenants known at startup keep the workers of {@code dfspids}, workers of removed tenants stay
+     * open and fail their jobs on the tenant lookup.
+     */
+    private synchronized void tenantChanged(String tenant) {
+        if (tenantRegistry.getTenants().stream().noneMatch(it -> it.getName().equals(tenant)) || !knownTenants.add(tenant)) {
+            return;
+        }
+        logger.info("Tenant {} added, generating its workers", tenant);
+        openDfspWorkers(tenant);
+    }
 
-                    Exchange ex = new DefaultExchange(camelContext);
-                    Map<String, Object> variables = job.getVariablesAsMap();
-                    zeebeVariablesToCamelProperties(variables, ex, TRANSACTION_ID, TENANT_ID, CHANNEL_REQUEST);
-                    ex.setProperty(TRANSFER_ACTION, CREATE.name());
-                    ex.setProperty("payeeTenantId", existingVariables.get("payeeTenantId"));
-                    ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
+    /**
+     * Opens the workers of one DFSP, the tenant of the same name.
+     */
+    private void openDfspWorkers(String dfspid) {
+        logger.info("DFSPID {}", dfspid);
+        logger.info("## generating " + WORKER_PAYER_LOCAL_QUOTE + "{} worker", dfspid);
+        openDfspWorker(WORKER_PAYER_LOCAL_QUOTE, dfspid, WorkerVariables.PAYER_LOCAL_QUOTE, (client, job) -> {
+            logWorkerDetails(job);
+            if (isAmsLocalEnabled) {
+                JobVariables existingVariables = new JobVariables(job.getVariablesAsMap(), objectMapper);
+                TransactionChannelRequestDTO channelRequest = existingVariables.get(CHANNEL_REQUEST,
+                        TransactionChannelRequestDTO.class);
+
+                Exchange ex = new DefaultExchange(camelContext);
+                zeebeVariablesToCamelProperties(existingVariables, ex, CHANNEL_REQUEST, TENANT_ID, TRANSACTION_ID);
+
+                ex.setProperty(PARTY_ID_TYPE, channelRequest.getPayer().getPartyIdInfo().getPartyIdType().name());
+                ex.setProperty(PARTY_ID, channelRequest.getPayer().getPartyIdInfo().getPartyIdentifier());
+                ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
+                ex.setProperty(TRANSACTION_ROLE, TransactionRole.PAYER);
+                ex.setProperty(QUOTE_AMOUNT_TYPE, AmountType.SEND.name());
+                sendToRoute("direct:send-local-quote", ex, client, job);
+            } else {
+                Map<String, Object> variables = new HashMap<>();
+                variables.put(LOCAL_QUOTE_FAILED, false);
+                jobCompletionService.complete(job.getKey(), variables);
+            }
+        });
+
+        logger.info("## generating " + WORKER_PAYEE_QUOTE + "{} worker", dfspid);
+        openDfspWorker(WORKER_PAYEE_QUOTE, dfspid, WorkerVariables.PAYEE_QUOTE, (client, job) -> {
+            logWorkerDetails(job);
+            JobVariables existingVariables = new JobVariables(job.getVariablesAsMap(), objectMapper);
+            QuoteSwitchRequestDTO quoteRequest = existingVariables.get(QUOTE_SWITCH_REQUEST, QuoteSwitchRequestDTO.class);
+
+            if (isAmsLocalEnabled) {
+                TransactionChannelRequestDTO channelRequest = new TransactionChannelRequestDTO();
+                TransactionType transactionType = new TransactionType();
+                transactionType.setInitiator(TransactionRole.PAYEE);
+                transactionType.setInitiatorType(InitiatorType.CONSUMER);
+                transactionType.setScenario(Scenario.DEPOSIT);
+                channelRequest.setTransactionType(transactionType);
+                channelRequest.setAmountType(AmountType.RECEIVE);
+                MoneyData amount = new MoneyData(quoteRequest.getAmount().getAmount(), quoteRequest.getAmount().getCurrency());
+                channelRequest.setAmount(amount);
+
+                Exchange ex = new DefaultExchange(camelContext);
+                ex.setProperty(PARTY_ID, quoteRequest.getPayee().getPartyIdInfo().getPartyIdentifier());
+                ex.setProperty(PARTY_ID_TYPE, quoteRequest.getPayee().getPartyIdInfo().getPartyIdType());
+                ex.setProperty(TRANSACTION_ID, existingVariables.get(TRANSACTION_ID));
+                ex.setProperty(TENANT_ID, existingVariables.get(TENANT_ID));
+                ex.setProperty(TRANSACTION_ROLE, TransactionRole.PAYEE.name());
+                ex.setProperty(CHANNEL_REQUEST, objectMapper.writeValueAsString(channelRequest));
+                ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
+                ex.setProperty(QUOTE_AMOUNT_TYPE, quoteRequest.getAmountType().name());
+                sendToRoute("direct:send-local-quote", ex, client, job);
+            } else {
+                Map<String, Object> variables = createFreeQuote(quoteRequest.getAmount().getCurrency());
+                variables.put(QUOTE_FAILED, false);
+                jobCompletionService.complete(job.getKey(), variables);
+            }
+        });
+
+        logger.info("## generating " + WORKER_PAYEE_COMMIT_TRANSFER + "{} worker", dfspid);
+        openDfspWorker(WORKER_PAYEE_COMMIT_TRANSFER, dfspid, WorkerVariables.PAYEE_COMMIT_TRANSFER, (client, job) -> {
+            logWorkerDetails(job);
+            if (isAmsLocalEnabled) {
+                Exchange exchange = new DefaultExchange(camelContext);
+                JobVariables variables = new JobVariables(job.getVariablesAsMap(), objectMapper);
+                zeebeVariablesToCamelProperties(variables, exchange, BOOK_TRANSACTION_ID, TRANSACTION_ID, TENANT_ID,
+                        EXTERNAL_ACCOUNT_ID, LOCAL_QUOTE_RESPONSE);
+                exchange.setProperty(TRANSFER_ACTION, CREATE.name());
+                exchange.setProperty(ZEEBE_JOB_KEY, job.getKey());
+
+                // setting party related variables as exchange property
+                QuoteSwitchRequestDTO quoteRequest = variables.get(QUOTE_SWITCH_REQUEST, QuoteSwitchRequestDTO.class);
+                exchange.setProperty(PARTY_ID, quoteRequest.getPayee().getPartyIdInfo().getPartyIdentifier());
+                exchange.setProperty(PARTY_ID_TYPE, quoteRequest.getPayee().getPartyIdInfo().getPartyIdType());
+
+                FspMoneyData amountData = zeebeVariable(exchange, "amount", FspMoneyData.class);
+                MoneyData amount = new MoneyData(amountData.getAmount(), amountData.getCurrency());
+
+                TransactionChannelRequestDTO transactionRequest = new TransactionChannelRequestDTO();
+                TransactionType transactionType = new TransactionType();
+                transactionType.setInitiator(TransactionRole.PAYEE);
+                transactionType.setInitiatorType(InitiatorType.CONSUMER);
+                transactionType.setScenario(Scenario.DEPOSIT);
+                transactionRequest.setTransactionType(transactionType);
+                transactionRequest.setAmount(amount);
+                exchange.setProperty(CHANNEL_REQUEST, objectMapper.writeValueAsString(transactionRequest));
+                exchange.setProperty(TRANSACTION_ROLE, TransactionRole.PAYEE.name());
+
+                logger.info("####### transaction request {}", objectMapper.writeValueAsString(transactionRequest));
+                sendToRoute("direct:send-transfers", exchange, client, job);
+            } else {
+                Map<String, Object> variables = new HashMap<>();
+                variables.put("transferCreateFailed", false);
+                jobCompletionService.complete(job.getKey(), variables);
+            }
+        });
+
+        logger.info("## generating " + WORKER_PARTY_LOOKUP_LOCAL + "{} worker", dfspid);
+        openDfspWorker(WORKER_PARTY_LOOKUP_LOCAL, dfspid, WorkerVariables.PARTY_LOOKUP_LOCAL, (client, job) -> {
+            logWorkerDetails(job);
+            Map<String, Object> existingVariables = job.getVariablesAsMap();
+            String partyIdType = (String) existingVariables.get(PARTY_ID_TYPE);
+            String partyId = (String) existingVariables.get(PARTY_ID);
+            String tenantId = (String) existingVariables.get(TENANT_ID); // payer
+            if (isAmsLocalEnabled) {
+                Exchange ex = new DefaultExchange(camelContext);
+                ex.setProperty(PARTY_ID_TYPE, partyIdType);
+                ex.setProperty(PARTY_ID, partyId);
+                ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
+                if (dfspid.equalsIgnoreCase(existingVariables.get("payeeTenantId").toString())) {
+                    ex.setProperty(TENANT_ID, existingVariables.get("payeeTenantId"));
+                } else {
+                    ex.setProperty(TENANT_ID, tenantId);
+                }
+                ex.setProperty("payeeTenantId", existingVariables.get("payeeTenantId"));
+
+                sendToRoute("direct:get-party", ex, client, job);
+
+                /*
+                 * payeeTenantId == dfspid => payee else payer
+                 *
+                 * a = payer tenant b = payee tenant
+                 *
+                 * debit -> gorilla credit -> gorilla
+                 *
+                 * PLATFORM-TENANT-ID -> PAYER/PAYEE
+                 */
+            } else {
+                Map<String, Object> variables = new HashMap<>();
+                Party party = new Party(// only return fspId from configuration
+                        new PartyIdInfo(IdentifierType.valueOf(partyIdType), partyId, null,
+                                tenantRegistry.getTenant(tenantId).getFspId()),
+                        null, null, null);
+
+                variables.put(PAYEE_PARTY_RESPONSE, objectMapper.writeValueAsString(party));
+                variables.put("payeeTenantId", existingVariables.get("payeeTenantId"));
+                jobCompletionService.complete(job.getKey(), variables);
+            }
+        });
+
+        logger.info("## generating " + WORKER_INTEROP_PARTY_REGISTRATION + "{} worker", dfspid);
+        openDfspWorker(WORKER_INTEROP_PARTY_REGISTRATION, dfspid, WorkerVariables.INTEROP_PARTY_REGISTRATION, (client, job) -> {
+            logWorkerDetails(job);
+            Map<String, Object> existingVariables = job.getVariablesAsMap();
+
+            if (!interopPartyRegistrationEnabled) {
+                Map<String, Object> variables = new HashMap<>();
+                variables.put(ACCOUNT_CURRENCY, "USD");
+                variables.put(INTEROP_REGISTRATION_FAILED, false);
+                jobCompletionService.complete(job.getKey(), variables);
+                logger.info("Interop disabled with variables {}", variables);
+                return;
+            }
 
-                    TransactionChannelRequestDTO transactionRequest = objectMapper.readValue((String) variables.get(CHANNEL_REQUEST),
-                            TransactionChannelRequestDTO.class);
+            if (isAmsLocalEnabled) {
+                Exchange ex = new DefaultExchange(camelContext);
+                ex.setProperty(PARTY_ID_TYPE, existingVariables.get(PARTY_ID_TYPE));
+                ex.setProperty(PARTY_ID, existingVariables.get(PARTY_ID));
+                ex.setProperty(ACCOUNT, existingVariables.get(ACCOUNT));
+                ex.setProperty(TENANT_ID, existingVariables.get(TENANT_ID));
+                ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
+                sendToRouteSync("direct:register-party", ex, client, job);
+            } else {
+                Map<String, Object> variables = new HashMap<>();
+                variables.put(ACCOUNT_CURRENCY, "TZS");
+                jobCompletionService.complete(job.getKey(), variables);
+            }
+        });
+
+        logger.info("## generating " + WORKER_PAYEE_DEPOSIT_TRANSFER + "{} worker", dfspid);
+        openDfspWorker(WORKER_PAYEE_DEPOSIT_TRANSFER, dfspid, WorkerVariables.PAYEE_DEPOSIT_TRANSFER, (client, job) -> {
+            logWorkerDetails(job);
+            Map<String, Object> existingVariables = job.getVariablesAsMap();
+            logger.info("Exisiting variables {}", existingVariables);
+
+            String tenantId = (String) existingVariables.get(TENANT_ID);
+
+            Exchange ex = new DefaultExchange(camelContext);
+            Map<String, Object> variables = new HashMap<>(existingVariables);
+            zeebeVariablesToCamelProperties(variables, ex, TRANSACTION_ID, TENANT_ID, EXTERNAL_ACCOUNT_ID, CHANNEL_REQUEST);
+            ex.setProperty(TRANSFER_ACTION, CREATE.name());
+            ex.setProperty("payeeTenantId", existingVariables.get("payeeTenantId"));
+            ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
+
+            TransactionChannelRequestDTO transactionRequest = objectMapper.readValue((String) variables.get(CHANNEL_REQUEST),
+                    TransactionChannelRequestDTO.class);
+            TransactionType transactionType = new TransactionType();
+            transactionType.setInitiator(TransactionRole.PAYEE);
+            transactionType.setInitiatorType(InitiatorType.CONSUMER);
+            transactionType.setScenario(Scenario.DEPOSIT);
+            transactionRequest.setTransactionType(transactionType);
+            variables.put("initiator", transactionType.getInitiator().name());
+            variables.put("initiatorType", transactionType.getInitiatorType().name());
+            variables.put("scenario", transactionType.getScenario().name());
+            variables.get(NOTE);
+            variables.put("amount", new FspMoneyData(transactionRequest.getAmount().getAmountDecimal(),
+                    transactionRequest.getAmount().getCurrency()));
+            variables.put("processType", "api");
+
+            String partyIdType = transactionRequest.getPayee().getPartyIdInfo().getPartyIdType().name();
+            String partyId = transactionRequest.getPayee().getPartyIdInfo().getPartyIdentifier();
+            ex.setProperty(PARTY_ID_TYPE, partyIdType);
+            ex.setProperty(PARTY_ID, partyId);
+            logger.info("PartyIdType: {}, PartyId: {}", partyIdType, partyId);
+
+            ex.setProperty(CHANNEL_REQUEST, objectMapper.writeValueAsString(transactionRequest));
+            ex.setProperty(TRANSACTION_ROLE, TransactionRole.PAYEE.name());
+            producerTemplate.send("direct:send-transfers", ex);
+            variables.put("transferCreateFailed", false);
+            variables.put("payeeTenantId", existingVariables.get("payeeTenantId"));
+            jobCompletionService.complete(job.getKey(), variables);
+        });
+
+        logger.info("## generating {}" + "{} worker", WORKER_PAYEE_LOAN_TRANSFER, dfspid);
+        openDfspWorker(WORKER_PAYEE_LOAN_TRANSFER, dfspid, WorkerVariables.PAYEE_LOAN_TRANSFER, (client, job) -> {
+            logWorkerDetails(job);
+            Map<String, Object> existingVariables = job.getVariablesAsMap();
+            logger.debug("Exisiting variables {}", existingVariables);
+
+            String tenantId = (String) existingVariables.get(TENANT_ID);
+
+            Exchange ex = new DefaultExchange(camelContext);
+            Map<String, Object> variables = new HashMap<>(existingVariables);
+            zeebeVariablesToCamelProperties(variables, ex, TRANSACTION_ID, TENANT_ID, CHANNEL_REQUEST);
+            ex.setProperty(TRANSFER_ACTION, CREATE.name());
+            ex.setProperty("payeeTenantId", existingVariables.get("payeeTenantId"));
+            ex.setProperty(ZEEBE_JOB_KEY, job.getKey());
+
+            TransactionChannelRequestDTO transactionRequest = objectMapper.readValue((String) variables.get(CHANNEL_REQUEST),
+                    TransactionChannelRequestDTO.class);
+
+            ZeebeUtil.setZeebeVariablesLoanWorker(variables, transactionRequest);
+
+            String partyIdType = transactionRequest.getPayee().getPartyIdInfo().getPartyIdType().name();
+            String partyId = transactionRequest.getPayee().getPartyIdInfo().getPartyIdentifier();
+
+            ZeebeUtil.setExchangePropertyLoan(ex, partyId, partyIdType, transactionRequest, existingVariables);
+
+            producerTemplate.send("direct:send-transfers-loan", ex);
+            variables.put("transferCreateFailed", false);
+            variables.put("payeeTenantId", existingVariables.get("payeeTenantId"));
+            jobCompletionService.complete(job.getKey(), variables);
+        });
+
+        logger.info("## generating " + WORKER_ACCOUNT_IDENTIFIER + "{} worker", dfspid);
+        openDfspWorker(WORKER_ACCOUNT_IDENTIFIER, dfspid, WorkerVariables.ACCOUNT_IDENTIFIER, (client, job) -> {
+            logWorkerDetails(job);
+            Map<String, Object> existingVariables = job.getVariablesAsMap();
+            logger.debug("Exisiting variables {}", existingVariables);
+            String accountHoldingInstitutionId = (String) existingVariables.get(TENANT_ID);
+            Exchange ex = new DefaultExchange(camelContext);
+            Map<String, Object> variables = new HashMap<>(existingVariables);
+            GsmaTransfer gsmaTransfer = objectMapper.readValue((String) variables.get(CHANNEL_REQUEST), GsmaTransfer.class);
+            logger.debug("GSMA Transfer Body:{}", gsmaTransfer);
+            String accountNo = gsmaTransfer.getPayee().get(0).getPartyIdIdentifier();
+            Exchange e = zeebeUtil.setAccountTypeAndNumber(ex, accountNo);
+            String transactionChannelRequestDTO = ZeebeUtil.convertGsmaTransfertoTransactionChannel(gsmaTransfer,
+                    e.getProperty(ACCOUNT_NUMBER));
+            logger.debug("Transaction Channel Request DTO:{}", transactionChannelRequestDTO);
+            logger.debug("Account Identifier:{}", ACCOUNT_IDENTIFIER);
+
+            ZeebeUtil.setZeebeVariables(e, variables, gsmaTransfer.getRequestDate(), accountHoldingInstitutionId,
+                    transactionChannelRequestDTO);
+
+            jobCompletionService.complete(job.getKey(), variables);
+        });
+    }
 
-                    ZeebeUtil.setZeebeVariablesLoanWorker(variables, transactionRequest);
+    private void openWorker(String jobType, List<String> variables, JobHandler handler) {
+        List<String> fetchVariables = fetchVariables(jobType, variables);
+        JobHandler isolatedHandler = jobDrainManager.track(jobBulkheads.isolate(jobType, handler));
+        activationController.register(jobType, isolatedHandler, (trackedHandler, maxJobsActive) -> zeebeClient.newWorker()
+                .jobType(jobType).handler(trackedHandler).fetchVariables(fetchVariables).name(jobType).maxJobsActive(maxJobsActive)
+                .open());
+    }
 
-                    String partyIdType = transactionRequest.getPayee().getPartyIdInfo().getPartyIdType().name();
-                    String partyId = transactionRequest.getPayee().getPartyIdInfo().getPartyIdentifier();
+    /**
+     * Opens the worker of one DFSP, e.g. {@code payee-quote-<dfspid>}. In shared mode the handler is only registered, jobs reach
+     * it through the shared worker of the job type.
+     */
+    private void openDfspWorker(String workerPrefix, String dfspid, List<String> variables, JobHandler handler) {
+        if (!sharedWorkersEnabled) {
+            openWorker(workerPrefix + dfspid, variables, handler);
+            return;
+        }
+        sharedWorkers.computeIfAbsent(workerPrefix, prefix -> new DfspHandlers(variables)).handlers.put(dfspid, handler);
+    }
 
-                    ZeebeUtil.setExchangePropertyLoan(ex, partyId, partyIdType, transactionRequest, existingVariables);
+    /**
+     * One worker per job type for all DFSPs, e.g. {@code payee-quote}. The DFSP of a job is taken from a custom header of its
+     * service task, a job of an unknown DFSP raises an incident.
+     */
+    private void openSharedWorkers() {
+        sharedWorkers.forEach((workerPrefix, dfspHandlers) -> {
+            String jobType = workerPrefix.substring(0, workerPrefix.length() - 1);
+            logger.info("## generating shared {} worker for DFSPs {}", jobType, dfspHandlers.handlers.keySet());
+            openWorker(jobType, dfspHandlers.variables, (client, job) -> {
+                String dfspid = job.getCustomHeaders().get(dfspHeader);
+                JobHandler handler = dfspid == null ? null : dfspHandlers.handlers.get(dfspid);
+                if (handler == null) {
+                    logger.error("No {} worker for DFSP {} of job {}", jobType, dfspid, job.getKey());
+                    jobDrainManager.finished(job.getKey());
+                    client.newFailCommand(job.getKey()).retries(0)
+                            .errorMessage("No worker for DFSP " + dfspid + " in header " + dfspHeader).send();
+                    return;
+                }
+                handler.handle(client, job);
+            });
+        });
+    }
 
-                    producerTemplate.send("direct:send-transfers-loan", ex);
-                    variables.put("transferCreateFailed", false);
-                    variables.put("payeeTenantId", existingVariables.get("payeeTenantId"));
-                    zeebeClient.newCompleteCommand(job.getKey()).variables(variables).send();
-                }).name(WORKER_PAYEE_LOAN_TRANSFER + dfspid).maxJobsActive(workerMaxJobs).open();
-
-                logger.info("## generating " + WORKER_ACCOUNT_IDENTIFIER + "{} worker", dfspid);
-                zeebeClient.newWorker().jobType(WORKER_ACCOUNT_IDENTIFIER + dfspid).handler((client, job) -> {
-                    logWorkerDetails(job);
-                    Map<String, Object> existingVariables = job.getVariablesAsMap();
-                    logger.debug("Exisiting variables {}", existingVariables);
-                    String accountHoldingInstitutionId = (String) existingVariables.get(TENANT_ID);
-                    Exchange ex = new DefaultExchange(camelContext);
-                    Map<String, Object> variables = job.getVariablesAsMap();
-                    GsmaTransfer gsmaTransfer = objectMapper.readValue((String) variables.get(CHANNEL_REQUEST), GsmaTransfer.class);
-                    logger.debug("GSMA Transfer Body:{}", gsmaTransfer);
-                    String accountNo = gsmaTransfer.getPayee().get(0).getPartyIdIdentifier();
-                    Exchange e = zeebeUtil.setAccountTypeAndNumber(ex, accountNo);
-                    String transactionChannelRequestDTO = ZeebeUtil.convertGsmaTransfertoTransactionChannel(gsmaTransfer,
-                            e.getProperty(ACCOUNT_NUMBER));
-                    logger.debug("Transaction Channel Request DTO:{}", transactionChannelRequestDTO);
-                    logger.debug("Account Identifier:{}", ACCOUNT_IDENTIFIER);
-
-                    ZeebeUtil.setZeebeVariables(e, variables, gsmaTransfer.getRequestDate(), accountHoldingInstitutionId,
-                            transactionChannelRequestDTO);
-
-                    zeebeClient.newCompleteCommand(job.getKey()).variables(variables).send();
-                }).name(WORKER_ACCOUNT_IDENTIFIER + dfspid).maxJobsActive(workerMaxJobs).open();
-
-                logger.info("## generating {} worker", WORKER_SEND_CALLBACK);
-                zeebeClient.newWorker().jobType(WORKER_SEND_CALLBACK).handler((client, job) -> {
-                    logWorkerDetails(job);
-                    Map<String, Object> existingVariables = job.getVariablesAsMap();
-                    logger.debug("Exisiting variables {}", existingVariables);
-                    Exchange ex = new DefaultExchange(camelContext);
-                    Map<String, Object> variables = job.getVariablesAsMap();
+    /**
+     * Variables activated jobs of the type are fetched with, {@code null} fetches all of them.
+     */
+    private List<String> fetchVariables(String jobType, List<String> variables) {
+        if (!fetchVariablesEnabled) {
+            return null;
+        }
+        logger.info("Worker {} fetches variables {}", jobType, variables);
+        return variables;
+    }
 
-                    ex.setProperty(X_CALLBACKURL, existingVariables.get(X_CALLBACKURL));
-                    ex.setProperty(FINERACT_RESPONSE_BODY, existingVariables.get(FINERACT_RESPONSE_BODY));
-                    producerTemplate.send("direct:send-callback", ex);
-                    variables.put(CALLBACK_SUCCESS, ex.getProperty("callbackSent").toString());
-                    zeebeClient.newCompleteCommand(job.getKey()).variables(variables).send();
+    /**
+     * In async mode the handler returns as soon as the AMS request is sent, the job is completed by the response processor
+     * of the route. An exchange failing before that fails the job, so it is retried.
+     */
+    private void sendToRoute(String endpoint, Exchange exchange, JobClient client, ActivatedJob job) {
+        if (!amsCallDispatcher.isAsyncEnabled()) {
+            sendToRouteSync(endpoint, exchange, client, job);
+            return;
+        }
+        amsCallDispatcher.dispatchJob(endpoint, exchange, doneSync -> failOnException(exchange, client, job));
+    }
 
-                }).name(WORKER_SEND_CALLBACK).maxJobsActive(workerMaxJobs).open();
-            }
+    /**
+     * The producer template keeps the exception of a failed exchange instead of throwing it, the job is failed here instead
+     * of timing out.
+     */
+    private void sendToRouteSync(String endpoint, Exchange exchange, JobClient client, ActivatedJob job) {
+        producerTemplate.send(endpoint, exchange);
+        failOnException(exchange, client, job);
+    }
+
+    private void failOnException(Exchange exchange, JobClient client, ActivatedJob job) {
+        Exception exception = exchange.getException();
+        if (exception != null) {
+            logger.error("Failed to process job {} of type {}", job.getKey(), job.getType(), exception);
+            jobDrainManager.finished(job.getKey());
+            client.newFailCommand(job.getKey()).retries(Math.max(job.getRetries() - 1, 0))
+                    .errorMessage(String.valueOf(exception.getMessage())).send();
         }
     }
 
@@ -504,4 +646,14 @@ public class ZeebeeWorkers {
         variables.put("fspCommission", fspCommission);
         return variables;
     }
+
+    private static final class DfspHandlers {
+
+        private final List<String> variables;
+        private final Map<String, JobHandler> handlers = new ConcurrentHashMap<>();
+
+        private DfspHandlers(List<String> variables) {
+            this.variables = variables;
+        }
+    }
 }
@@ -0,0 +1,190 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsParameters;
+import com.sun.net.httpserver.HttpsServer;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.ws.rs.core.Response;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.configuration.jsse.TLSClientParameters;
+import org.apache.cxf.jaxrs.client.JAXRSClientFactoryBean;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.transport.http.HTTPConduit;
+import org.apache.cxf.transport.http.HTTPConduitFactory;
+import org.apache.cxf.transport.http.asyncclient.AsyncHTTPConduitFactory;
+import org.apache.cxf.transports.http.configuration.ConnectionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mifos.connector.ams.properties.FineractHttpProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fineract calls over a new TLS connection per request, as before, compared to the pooled keep-alive conduit. A local HTTPS
+ * server using the keystore of the connector answers every request with a small JSON body and counts the TLS connections
+ * opened.
+ *
+ * <p>
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+public class FineractConduitLoadTest {
+
+    private static final int CALLERS = 8;
+    private static final int REQUESTS_PER_CALLER = 150;
+
+    public Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final LongAdder connections = new LongAdder();
+    private HttpsServer server;
+    private ExecutorService serverExecutor;
+    private String address;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream in = getClass().getResourceAsStream("/keystore.jks")) {
+            keyStore.load(in, "openmf".toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, "openmf".toCharArray());
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagers.getKeyManagers(), null, null);
+
+        System.setProperty("sun.net.httpserver.nodelay", "true"); // no Nagle delay between response headers and body
+        server = HttpsServer.create(new InetSocketAddress("localhost", 0), 100);
+        server.setHttpsConfigurator(new HttpsConfigurator(sslContext) {
+
+            @Override
+            public void configure(HttpsParameters params) {
+                connections.increment(); // called once per accepted connection
+                super.configure(params);
+            }
+        });
+        server.createContext("/fineract-provider/api/v1/savingsaccounts", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "{\"id\":1,\"status\":{\"active\":true}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        serverExecutor = Executors.newFixedThreadPool(CALLERS * 2);
+        server.setExecutor(serverExecutor);
+        server.start();
+        address = "https://localhost:" + server.getAddress().getPort() + "/fineract-provider/api/v1/savingsaccounts";
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void pooledConnectionsAvoidHandshakes() throws Exception {
+        Bus perRequestBus = BusFactory.newInstance().createBus();
+        Bus pooledBus = BusFactory.newInstance().createBus();
+        AsyncHTTPConduitFactory pool = FineractConduitFactory.poolFactory(new FineractHttpProperties.Pool());
+        pooledBus.setExtension(pool, HTTPConduitFactory.class);
+        try {
+            run(perRequestBus, false); // warm up
+            run(pooledBus, true);
+
+            Result perRequest = run(perRequestBus, false);
+            Result pooled = run(pooledBus, true);
+            logger.info("New connection per request: {} ms/request, {} req/s, {} connections", perRequest.millisPerRequest(),
+                    perRequest.throughput(), perRequest.connections);
+            logger.info("Pooled keep-alive connections: {} ms/request, {} req/s, {} connections", pooled.millisPerRequest(),
+                    pooled.throughput(), pooled.connections);
+
+            assertEquals(CALLERS * REQUESTS_PER_CALLER, perRequest.connections);
+            assertTrue(pooled.connections <= CALLERS, "pooled calls opened " + pooled.connections + " connections");
+            assertTrue(pooled.throughput() > perRequest.throughput(), "pooled calls are not faster");
+        } finally {
+            pool.shutdown();
+            perRequestBus.shutdown(true);
+            pooledBus.shutdown(true);
+        }
+    }
+
+    private Result run(Bus bus, boolean keepAlive) throws Exception {
+        long connectionsBefore = connections.sum();
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        long start = System.nanoTime();
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(callers.submit(() -> {
+                WebClient client = createClient(bus, keepAlive);
+                for (int request = 0; request < REQUESTS_PER_CALLER; request++) {
+                    Response response = client.get();
+                    assertEquals(200, response.getStatus());
+                    response.readEntity(String.class);
+                    response.close();
+                }
+                client.close();
+                return null;
+            }));
+        }
+        for (Future<?> call : calls) {
+            call.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        callers.shutdown();
+        return new Result(elapsedNanos, connections.sum() - connectionsBefore);
+    }
+
+    private WebClient createClient(Bus bus, boolean keepAlive) {
+        JAXRSClientFactoryBean bean = new JAXRSClientFactoryBean();
+        bean.setBus(bus);
+        bean.setAddress(address);
+        bean.setThreadSafe(true);
+        WebClient client = bean.createWebClient();
+        client.accept("application/json");
+
+        HTTPConduit conduit = WebClient.getConfig(client).getHttpConduit();
+        TLSClientParameters tls = new TLSClientParameters();
+        tls.setDisableCNCheck(true);
+        tls.setTrustManagers(new TrustManager[] { new CompositeX509TrustManager(List.of(), false) });
+        conduit.setTlsClientParameters(tls);
+        conduit.getClient().setConnection(keepAlive ? ConnectionType.KEEP_ALIVE : ConnectionType.CLOSE);
+        return client;
+    }
+
+    private static final class Result {
+
+        private final long elapsedNanos;
+        private final long connections;
+
+        private Result(long elapsedNanos, long connections) {
+            this.elapsedNanos = elapsedNanos;
+            this.connections = connections;
+        }
+
+        private double millisPerRequest() {
+            return elapsedNanos / 1_000_000.0 / REQUESTS_PER_CALLER;
+        }
+
+        private long throughput() {
+            return CALLERS * REQUESTS_PER_CALLER * 1_000_000_000L / elapsedNanos;
+        }
+    }
+}
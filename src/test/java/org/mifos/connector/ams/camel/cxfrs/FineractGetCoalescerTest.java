@@ -0,0 +1,194 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import static org.apache.camel.Exchange.HTTP_METHOD;
+import static org.apache.camel.Exchange.HTTP_PATH;
+import static org.apache.camel.Exchange.HTTP_RESPONSE_CODE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mifos.connector.ams.tenant.TenantService.FINERACT_PLATFORM_TENANT_ID_HEADER;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class FineractGetCoalescerTest {
+
+    private static final String ENDPOINT = "cxfrs:bean:default.ams.local.interop";
+    private static final int FOLLOWERS = 4;
+
+    private final DefaultCamelContext camelContext = new DefaultCamelContext();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch leaderCalling = new CountDownLatch(1);
+    private final CountDownLatch response = new CountDownLatch(1);
+    private FineractGetCoalescer coalescer;
+
+    @BeforeEach
+    public void setup() {
+        coalescer = new FineractGetCoalescer();
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    public void sendsIdenticalGetsOnce() throws Exception {
+        Exchange leader = get("tn01", "Basic bWlmb3M6cGFzc3dvcmQ=");
+        List<Exchange> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(get("tn01", "Basic bWlmb3M6cGFzc3dvcmQ="));
+        }
+
+        List<Thread> threads = sendConcurrently(leader, followers, exchange -> {
+            exchange.getMessage().setHeader(HTTP_RESPONSE_CODE, 200);
+            exchange.getMessage().setBody("{\"accountId\":\"1001\"}");
+        });
+        response.countDown();
+        join(threads);
+
+        assertEquals(1, calls.get());
+        for (Exchange follower : followers) {
+            assertEquals("{\"accountId\":\"1001\"}", follower.getMessage().getBody(String.class));
+            assertEquals(200, follower.getMessage().getHeader(HTTP_RESPONSE_CODE));
+        }
+        assertEquals(FOLLOWERS, meterRegistry.counter("fineract.call.coalesced", "endpoint", ENDPOINT).count());
+    }
+
+    @Test
+    public void failsEveryWaiterWithoutCachingTheFailure() throws Exception {
+        Exchange leader = get("tn01", "Basic bWlmb3M6cGFzc3dvcmQ=");
+        List<Exchange> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(get("tn01", "Basic bWlmb3M6cGFzc3dvcmQ="));
+        }
+        IllegalStateException failure = new IllegalStateException("Fineract unreachable");
+
+        List<Thread> threads = sendConcurrently(leader, followers, exchange -> {
+            throw failure;
+        });
+        response.countDown();
+        join(threads);
+
+        assertSame(failure, leader.getException());
+        for (Exchange follower : followers) {
+            assertSame(failure, follower.getException());
+        }
+
+        Exchange retry = get("tn01", "Basic bWlmb3M6cGFzc3dvcmQ=");
+        coalescer.send(ENDPOINT, retry, exchange -> {
+            calls.incrementAndGet();
+            exchange.getMessage().setBody("{\"accountId\":\"1001\"}");
+        });
+        assertEquals(2, calls.get());
+        assertEquals("{\"accountId\":\"1001\"}", retry.getMessage().getBody(String.class));
+    }
+
+    @Test
+    public void neverMergesOtherTenantsOrCredentials() throws Exception {
+        Exchange leader = get("tn01", "Basic bWlmb3M6cGFzc3dvcmQ=");
+        List<Thread> threads = sendConcurrently(leader, List.of(), exchange -> exchange.getMessage().setBody("tn01"));
+
+        Exchange otherTenant = get("tn02", "Basic bWlmb3M6cGFzc3dvcmQ=");
+        threads.add(send(otherTenant, exchange -> {
+            calls.incrementAndGet();
+            exchange.getMessage().setBody("tn02");
+        }));
+        Exchange otherCredentials = get("tn01", "Bearer 0c1d6a3e");
+        threads.add(send(otherCredentials, exchange -> {
+            calls.incrementAndGet();
+            exchange.getMessage().setBody("bearer");
+        }));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(3, calls.get(), "request of another tenant or credentials waited for the flight");
+        response.countDown();
+        join(threads);
+
+        assertEquals("tn01", leader.getMessage().getBody(String.class));
+        assertEquals("tn02", otherTenant.getMessage().getBody(String.class));
+        assertEquals("bearer", otherCredentials.getMessage().getBody(String.class));
+        assertEquals(0, meterRegistry.counter("fineract.call.coalesced", "endpoint", ENDPOINT).count());
+    }
+
+    /**
+     * Sends the leader, whose call waits for {@link #response}, then the followers once it is calling Fineract, and returns
+     * after every follower joined the flight.
+     */
+    private List<Thread> sendConcurrently(Exchange leader, List<Exchange> followers, Consumer<Exchange> call) throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        threads.add(send(leader, exchange -> {
+            calls.incrementAndGet();
+            leaderCalling.countDown();
+            await(response);
+            call.accept(exchange);
+        }));
+        await(leaderCalling);
+        for (Exchange follower : followers) {
+            threads.add(send(follower, exchange -> {
+                calls.incrementAndGet();
+                call.accept(exchange);
+            }));
+        }
+        awaitFollowers(followers.size());
+        return threads;
+    }
+
+    private Thread send(Exchange exchange, Consumer<Exchange> call) {
+        Thread thread = new Thread(() -> {
+            try {
+                coalescer.send(ENDPOINT, exchange, call);
+            } catch (RuntimeException e) {
+                exchange.setException(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private void awaitFollowers(int expected) throws InterruptedException {
+        Map<?, ?> flights = (Map<?, ?>) ReflectionTestUtils.getField(coalescer, "flights");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flights.values().stream().mapToInt(flight -> (int) ReflectionTestUtils.getField(flight, "followers"))
+                .sum() < expected) {
+            assertTrue(System.nanoTime() < deadline, "followers did not join the flight");
+            Thread.sleep(5);
+        }
+    }
+
+    private Exchange get(String tenant, String authorization) {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setHeader(HTTP_METHOD, "GET");
+        exchange.getIn().setHeader(HTTP_PATH, "/interoperation/parties/MSISDN/27710101999");
+        exchange.getIn().setHeader(FINERACT_PLATFORM_TENANT_ID_HEADER, tenant);
+        exchange.getIn().setHeader(HttpHeaders.AUTHORIZATION, authorization);
+        return exchange;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void join(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
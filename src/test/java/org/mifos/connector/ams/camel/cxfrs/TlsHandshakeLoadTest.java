@@ -0,0 +1,225 @@
+package org.mifos.connector.ams.camel.cxfrs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import javax.ws.rs.core.Response;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.jsse.SSLContextParameters;
+import org.apache.camel.support.jsse.TrustManagersParameters;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.configuration.jsse.TLSClientParameters;
+import org.apache.cxf.jaxrs.client.JAXRSClientFactoryBean;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.transport.http.HTTPConduit;
+import org.apache.cxf.transports.http.configuration.ConnectionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TLS handshake cost of Fineract calls on new connections, with an SSLContext per client as camel-cxf creates it, compared
+ * to the shared SSLContext of {@code ams.local.http.tls.session-reuse} and the trusted chain cache. Every request opens a
+ * new connection to a local HTTPS server with the self-signed certificate of {@code tls-stub.jks}, the certificate of the
+ * connector keystore has expired and would never be cached. Full handshakes are counted at the trust manager, resumed
+ * sessions don't verify the server chain again.
+ *
+ * <p>
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+public class TlsHandshakeLoadTest {
+
+    private static final int CALLERS = 4;
+    private static final int REQUESTS_PER_CALLER = 100;
+
+    public Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private KeyStore keyStore;
+    private HttpsServer server;
+    private ExecutorService serverExecutor;
+    private CamelContext camelContext;
+    private Bus bus;
+    private String address;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        keyStore = KeyStore.getInstance("JKS");
+        try (InputStream in = getClass().getResourceAsStream("/tls-stub.jks")) {
+            keyStore.load(in, "tlsstub".toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, "tlsstub".toCharArray());
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagers.getKeyManagers(), null, null);
+
+        System.setProperty("sun.net.httpserver.nodelay", "true"); // no Nagle delay between response headers and body
+        server = HttpsServer.create(new InetSocketAddress("localhost", 0), 100);
+        server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+        server.createContext("/fineract-provider/api/v1/savingsaccounts", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "{\"id\":1,\"status\":{\"active\":true}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        serverExecutor = Executors.newFixedThreadPool(CALLERS * 2);
+        server.setExecutor(serverExecutor);
+        server.start();
+        address = "https://localhost:" + server.getAddress().getPort() + "/fineract-provider/api/v1/savingsaccounts";
+        camelContext = new DefaultCamelContext();
+        bus = BusFactory.newInstance().createBus();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        bus.shutdown(true);
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void sharedSessionsAvoidFullHandshakes() throws Exception {
+        run(new SSLContextParameters(), 0); // warm up
+        run(new SharedSSLContextParameters(1000, 3600), 100);
+
+        Result perClient = run(new SSLContextParameters(), 0);
+        Result trustCache = run(new SSLContextParameters(), 100);
+        Result shared = run(new SharedSSLContextParameters(1000, 3600), 100);
+        logger.info("SSLContext per client: {} ms/request, {} req/s, {} full handshakes, {} chain verifications",
+                perClient.millisPerRequest(), perClient.throughput(), perClient.handshakes, perClient.verifications);
+        logger.info("SSLContext per client and trust cache: {} ms/request, {} req/s, {} full handshakes, {} chain verifications",
+                trustCache.millisPerRequest(), trustCache.throughput(), trustCache.handshakes, trustCache.verifications);
+        logger.info("Shared SSLContext and trust cache: {} ms/request, {} req/s, {} full handshakes, {} chain verifications",
+                shared.millisPerRequest(), shared.throughput(), shared.handshakes, shared.verifications);
+
+        assertEquals(CALLERS * REQUESTS_PER_CALLER, perClient.handshakes);
+        assertEquals(CALLERS * REQUESTS_PER_CALLER, trustCache.handshakes);
+        // the first handshakes of the callers run concurrently, each verifies the chain before it is cached
+        assertTrue(trustCache.verifications <= CALLERS, "trusted chain verified " + trustCache.verifications + " times");
+        assertTrue(shared.handshakes < perClient.handshakes / 10, "shared SSLContext did " + shared.handshakes + " full handshakes");
+        assertTrue(shared.throughput() > perClient.throughput(), "resumed sessions are not faster");
+    }
+
+    private Result run(SSLContextParameters parameters, int trustCacheSize) throws Exception {
+        LongAdder handshakes = new LongAdder();
+        LongAdder verifications = new LongAdder();
+        X509TrustManager keyStoreTrust = counting(keyStoreTrustManager(), verifications);
+        CompositeX509TrustManager composite = new CompositeX509TrustManager(List.of(keyStoreTrust), true, trustCacheSize, 3600_000);
+        TrustManagersParameters trustManagers = new TrustManagersParameters();
+        trustManagers.setTrustManager(counting(composite, handshakes));
+        parameters.setTrustManagers(trustManagers);
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        long start = System.nanoTime();
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(callers.submit(() -> {
+                for (int request = 0; request < REQUESTS_PER_CALLER; request++) {
+                    // camel-cxf creates a client, and configures its SSLContext, for every request
+                    WebClient client = createClient(parameters.createSSLContext(camelContext));
+                    Response response = client.get();
+                    assertEquals(200, response.getStatus());
+                    response.readEntity(String.class);
+                    response.close();
+                    client.close();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> call : calls) {
+            call.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        callers.shutdown();
+        return new Result(elapsedNanos, handshakes.sum(), verifications.sum());
+    }
+
+    private WebClient createClient(SSLContext sslContext) {
+        JAXRSClientFactoryBean bean = new JAXRSClientFactoryBean();
+        bean.setBus(bus);
+        bean.setAddress(address);
+        WebClient client = bean.createWebClient();
+        client.accept("application/json");
+
+        HTTPConduit conduit = WebClient.getConfig(client).getHttpConduit();
+        TLSClientParameters tls = new TLSClientParameters();
+        tls.setDisableCNCheck(true);
+        tls.setSSLSocketFactory(sslContext.getSocketFactory());
+        conduit.setTlsClientParameters(tls);
+        conduit.getClient().setConnection(ConnectionType.CLOSE);
+        return client;
+    }
+
+    private X509TrustManager keyStoreTrustManager() throws Exception {
+        TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        factory.init(keyStore);
+        return (X509TrustManager) factory.getTrustManagers()[0];
+    }
+
+    private static X509TrustManager counting(X509TrustManager delegate, LongAdder serverChecks) {
+        return new X509TrustManager() {
+
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+                delegate.checkClientTrusted(chain, authType);
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+                serverChecks.increment();
+                delegate.checkServerTrusted(chain, authType);
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return delegate.getAcceptedIssuers();
+            }
+        };
+    }
+
+    private static final class Result {
+
+        private final long elapsedNanos;
+        private final long handshakes;
+        private final long verifications;
+
+        private Result(long elapsedNanos, long handshakes, long verifications) {
+            this.elapsedNanos = elapsedNanos;
+            this.handshakes = handshakes;
+            this.verifications = verifications;
+        }
+
+        private double millisPerRequest() {
+            return elapsedNanos / 1_000_000.0 / REQUESTS_PER_CALLER;
+        }
+
+        private long throughput() {
+            return CALLERS * REQUESTS_PER_CALLER * 1_000_000_000L / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.mifos.connector.ams.interop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_RESOLVED_AT;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_RESOLVED_FOR;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.EXTERNAL_ACCOUNT_SIGNATURE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.PARTY_ID_TYPE;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.TENANT_ID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mifos.connector.ams.zeebe.JobVariables;
+import org.mifos.connector.common.ams.dto.PartyFspResponseDTO;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ExternalAccountReuseTest {
+
+    private final DefaultCamelContext camelContext = new DefaultCamelContext();
+    private ExternalAccountReuse reuse;
+
+    @BeforeEach
+    public void setup() {
+        reuse = new ExternalAccountReuse();
+        ReflectionTestUtils.setField(reuse, "enabled", true);
+        ReflectionTestUtils.setField(reuse, "maxAgeSeconds", 300L);
+        ReflectionTestUtils.setField(reuse, "signingKey", "");
+        reuse.setup();
+    }
+
+    @Test
+    public void reusesAccountSignedByTheQuote() {
+        Map<String, Object> variables = resolvedByQuote("1001");
+
+        Exchange transfer = transferLookup(variables);
+        assertTrue(reuse.serve(transfer));
+        assertEquals("1001", transfer.getIn().getBody(PartyFspResponseDTO.class).getAccountId());
+    }
+
+    @Test
+    public void looksUpAccountChangedInTheProcess() {
+        Map<String, Object> variables = resolvedByQuote("1001");
+        variables.put(EXTERNAL_ACCOUNT_ID, "6666");
+
+        assertFalse(reuse.serve(transferLookup(variables)));
+    }
+
+    @Test
+    public void looksUpAccountWithoutSignature() {
+        Map<String, Object> variables = resolvedByQuote("1001");
+        variables.remove(EXTERNAL_ACCOUNT_SIGNATURE);
+
+        assertFalse(reuse.serve(transferLookup(variables)));
+    }
+
+    private Map<String, Object> resolvedByQuote(String accountId) {
+        Exchange quote = lookup();
+        PartyFspResponseDTO party = new PartyFspResponseDTO();
+        party.setAccountId(accountId);
+        quote.getIn().setBody(party);
+        reuse.resolved(quote);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put(EXTERNAL_ACCOUNT_ID, accountId);
+        variables.put(EXTERNAL_ACCOUNT_RESOLVED_FOR, quote.getProperty(EXTERNAL_ACCOUNT_RESOLVED_FOR));
+        variables.put(EXTERNAL_ACCOUNT_RESOLVED_AT, quote.getProperty(EXTERNAL_ACCOUNT_RESOLVED_AT));
+        variables.put(EXTERNAL_ACCOUNT_SIGNATURE, quote.getProperty(EXTERNAL_ACCOUNT_SIGNATURE));
+        return variables;
+    }
+
+    private Exchange transferLookup(Map<String, Object> variables) {
+        Exchange exchange = lookup();
+        exchange.setProperty("zeebeVariables", new JobVariables(variables, new ObjectMapper()));
+        exchange.setProperty(EXTERNAL_ACCOUNT_ID, variables.get(EXTERNAL_ACCOUNT_ID));
+        return exchange;
+    }
+
+    private Exchange lookup() {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.setProperty(TENANT_ID, "tn01");
+        exchange.setProperty(PARTY_ID_TYPE, "MSISDN");
+        exchange.setProperty(PARTY_ID, "27710101999");
+        return exchange;
+    }
+}
@@ -0,0 +1,57 @@
+package org.mifos.connector.ams.interop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mifos.connector.ams.camel.config.CamelProperties.TRANSFER_ACTION;
+import static org.mifos.connector.ams.camel.config.CamelProperties.ZEEBE_JOB_KEY;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.FINERACT_RESPONSE_BODY;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.TRANSFER_CREATE_FAILED;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.TRANSFER_RESPONSE_PREFIX;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+import org.mifos.connector.ams.camel.cxfrs.FineractResponseBody;
+import org.mifos.connector.ams.zeebe.JobCompletionService;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class TransfersResponseProcessorTest {
+
+    private static final String RESPONSE = "{\"transactionId\":\"f3b2\",\"transferCode\":\"9d1e\"}";
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void completesTransferJobWithStreamedResponse() throws Exception {
+        CamelContext camelContext = new DefaultCamelContext();
+        FineractResponseBody.registerConverters(camelContext.getTypeConverterRegistry());
+        JobCompletionService jobCompletionService = mock(JobCompletionService.class);
+        TransfersResponseProcessor processor = new TransfersResponseProcessor();
+        ReflectionTestUtils.setField(processor, "jobCompletionService", jobCompletionService);
+
+        // body as bound by ams.local.http.stream-responses
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setBody(new FineractResponseBody(new ByteArrayInputStream(RESPONSE.getBytes(StandardCharsets.UTF_8))));
+        exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+        exchange.setProperty(TRANSFER_ACTION, "CREATE");
+        exchange.setProperty(ZEEBE_JOB_KEY, 42L);
+        processor.process(exchange);
+
+        ArgumentCaptor<Map<String, Object>> variables = ArgumentCaptor.forClass(Map.class);
+        verify(jobCompletionService).complete(eq(42L), variables.capture());
+        assertEquals(false, variables.getValue().get(TRANSFER_CREATE_FAILED));
+        assertEquals(RESPONSE, variables.getValue().get(TRANSFER_RESPONSE_PREFIX + "-CREATE"));
+        assertEquals(RESPONSE, variables.getValue().get(FINERACT_RESPONSE_BODY));
+        // the Zeebe client serializes the variables with a default ObjectMapper, failing on beans without properties
+        assertFalse(new ObjectMapper().writeValueAsString(variables.getValue()).isEmpty());
+    }
+}
@@ -0,0 +1,218 @@
+package org.mifos.connector.ams.zeebe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.api.worker.JobWorker;
+import io.camunda.zeebe.gateway.protocol.GatewayGrpc;
+import io.camunda.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.camunda.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.camunda.zeebe.gateway.protocol.GatewayOuterClass.ActivatedJob;
+import io.camunda.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobRequest;
+import io.camunda.zeebe.gateway.protocol.GatewayOuterClass.CompleteJobResponse;
+import io.camunda.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Activation latency and gateway load of 1ms polling compared to job streaming with a 1s polling fallback. A fake gateway
+ * creates a job every 5ms and pushes it to an open stream, or hands it to an ActivateJobs request. Like the real gateway it
+ * long-polls, requests finding no job are held until one is created. Gateway CPU is the CPU time of the threads running the
+ * gateway calls.
+ *
+ * <p>
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+public class JobStreamingLoadTest {
+
+    private static final String JOB_TYPE = "payee-commit-transfer";
+    private static final int JOBS = 600;
+    private static final long JOB_INTERVAL_MILLIS = 5;
+
+    public Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<Thread> gatewayThreads = new CopyOnWriteArrayList<>();
+    private final Queue<Long> pendingJobs = new ConcurrentLinkedQueue<>();
+    private final Queue<StreamObserver<ActivateJobsResponse>> longPolls = new ConcurrentLinkedQueue<>();
+    private final List<StreamObserver<ActivatedJob>> streams = new CopyOnWriteArrayList<>();
+    private final Map<Long, Long> createdNanos = new ConcurrentHashMap<>();
+    private final LongAdder activateRequests = new LongAdder();
+    private ExecutorService gatewayExecutor;
+    private Server gateway;
+
+    @BeforeEach
+    public void startGateway() throws Exception {
+        gatewayExecutor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "fake-gateway");
+            gatewayThreads.add(thread);
+            return thread;
+        });
+        gateway = ServerBuilder.forPort(0).executor(gatewayExecutor).addService(new GatewayGrpc.GatewayImplBase() {
+
+            @Override
+            public void activateJobs(ActivateJobsRequest request, StreamObserver<ActivateJobsResponse> responseObserver) {
+                activateRequests.increment();
+                ActivateJobsResponse.Builder response = ActivateJobsResponse.newBuilder();
+                Long key;
+                while (response.getJobsCount() < request.getMaxJobsToActivate() && (key = pendingJobs.poll()) != null) {
+                    response.addJobs(job(key));
+                }
+                if (response.getJobsCount() == 0) {
+                    longPolls.add(responseObserver);
+                    ((ServerCallStreamObserver<ActivateJobsResponse>) responseObserver)
+                            .setOnCancelHandler(() -> longPolls.remove(responseObserver));
+                    return;
+                }
+                responseObserver.onNext(response.build());
+                responseObserver.onCompleted();
+            }
+
+            @Override
+            public void streamActivatedJobs(StreamActivatedJobsRequest request, StreamObserver<ActivatedJob> responseObserver) {
+                streams.add(responseObserver);
+                ((ServerCallStreamObserver<ActivatedJob>) responseObserver).setOnCancelHandler(() -> streams.remove(responseObserver));
+            }
+
+            @Override
+            public void completeJob(CompleteJobRequest request, StreamObserver<CompleteJobResponse> responseObserver) {
+                responseObserver.onNext(CompleteJobResponse.getDefaultInstance());
+                responseObserver.onCompleted();
+            }
+        }).build().start();
+    }
+
+    @AfterEach
+    public void stopGateway() throws Exception {
+        gateway.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        gatewayExecutor.shutdownNow();
+    }
+
+    @Test
+    public void activationLatencyPollingVersusStreaming() throws Exception {
+        Result polling = run(false, Duration.ofMillis(1));
+        Result streaming = run(true, Duration.ofSeconds(1));
+        logger.info("{} | {} | {} | {} | {}", "mode", "p50 activation ms", "p99 activation ms", "ActivateJobs requests",
+                "gateway CPU ms");
+        logger.info("polling 1ms | {} | {} | {} | {}", polling.p50Millis, polling.p99Millis, polling.activateRequests,
+                polling.gatewayCpuMillis);
+        logger.info("streaming | {} | {} | {} | {}", streaming.p50Millis, streaming.p99Millis, streaming.activateRequests,
+                streaming.gatewayCpuMillis);
+
+        assertTrue(streaming.activateRequests < polling.activateRequests / 10, "streaming should hardly poll");
+        assertTrue(streaming.p99Millis <= Math.max(polling.p99Millis, 5), "streaming should not add activation latency");
+    }
+
+    private Result run(boolean streamEnabled, Duration pollInterval) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ZeebeClient zeebeClient = ZeebeClient.newClientBuilder().gatewayAddress("localhost:" + gateway.getPort()).usePlaintext()
+                .defaultJobPollInterval(pollInterval).defaultJobWorkerStreamEnabled(streamEnabled).build();
+        JobWorker worker = zeebeClient.newWorker().jobType(JOB_TYPE).handler((client, job) -> {
+            latencies.add(System.nanoTime() - createdNanos.get(job.getKey()));
+            client.newCompleteCommand(job.getKey()).send();
+        }).open();
+        Thread.sleep(500); // stream registration and first polls
+
+        activateRequests.reset();
+        long cpuBefore = gatewayCpuNanos();
+        AtomicLong keys = new AtomicLong();
+        ScheduledExecutorService producer = Executors.newSingleThreadScheduledExecutor();
+        producer.scheduleAtFixedRate(() -> {
+            if (keys.get() < JOBS) {
+                createJob(keys.incrementAndGet());
+            }
+        }, 0, JOB_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        long deadline = System.currentTimeMillis() + JOBS * JOB_INTERVAL_MILLIS + 5000;
+        while (latencies.size() < JOBS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        producer.shutdownNow();
+        long cpu = gatewayCpuNanos() - cpuBefore;
+        long requests = activateRequests.sum();
+        worker.close();
+        zeebeClient.close();
+        assertEquals(JOBS, latencies.size(), "all jobs should be activated");
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(millis(sorted.get(JOBS / 2)), millis(sorted.get(JOBS * 99 / 100)), requests, cpu / 1_000_000);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+
+    private void createJob(long key) {
+        createdNanos.put(key, System.nanoTime());
+        if (!streams.isEmpty()) {
+            StreamObserver<ActivatedJob> stream = streams.get(0);
+            synchronized (stream) {
+                stream.onNext(job(key));
+            }
+            return;
+        }
+        StreamObserver<ActivateJobsResponse> longPoll = longPolls.poll();
+        if (longPoll == null) {
+            pendingJobs.add(key);
+            return;
+        }
+        longPoll.onNext(ActivateJobsResponse.newBuilder().addJobs(job(key)).build());
+        longPoll.onCompleted();
+    }
+
+    private static ActivatedJob job(long key) {
+        return ActivatedJob.newBuilder().setKey(key).setType(JOB_TYPE).setBpmnProcessId("test").setElementId("task")
+                .setCustomHeaders("{}").setVariables("{}").setRetries(3).setDeadline(System.currentTimeMillis() + 30000)
+                .setWorker("test").build();
+    }
+
+    private long gatewayCpuNanos() {
+        long total = 0;
+        for (Thread thread : gatewayThreads) {
+            total += Math.max(0, threads.getThreadCpuTime(thread.threadId()));
+        }
+        return total;
+    }
+
+    private static final class Result {
+
+        private final double p50Millis;
+        private final double p99Millis;
+        private final long activateRequests;
+        private final long gatewayCpuMillis;
+
+        private Result(double p50Millis, double p99Millis, long activateRequests, long gatewayCpuMillis) {
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.activateRequests = activateRequests;
+            this.gatewayCpuMillis = gatewayCpuMillis;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.mifos.connector.ams.zeebe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class JobVariablesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void bindsMapValueOnce() throws Exception {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("party", Map.of("name", "Ann"));
+        JobVariables jobVariables = new JobVariables(variables, objectMapper);
+
+        Party party = jobVariables.get("party", Party.class);
+        assertEquals("Ann", party.name);
+        assertSame(party, jobVariables.get("party", Party.class));
+    }
+
+    @Test
+    public void bindsJsonStringValue() throws Exception {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("party", "{\"name\":\"Ann\"}");
+        JobVariables jobVariables = new JobVariables(variables, objectMapper);
+
+        assertEquals("Ann", jobVariables.get("party", Party.class).name);
+        assertEquals("{\"name\":\"Ann\"}", jobVariables.get("party", String.class));
+    }
+
+    @Test
+    public void bindsReplacedValueAgain() throws Exception {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("party", "{\"name\":\"Ann\"}");
+        JobVariables jobVariables = new JobVariables(variables, objectMapper);
+        assertEquals("Ann", jobVariables.get("party", Party.class).name);
+
+        jobVariables.asMap().put("party", "{\"name\":\"Bob\"}");
+        assertEquals("Bob", jobVariables.get("party", Party.class).name);
+
+        jobVariables.asMap().put("party", Map.of("name", "Cid"));
+        assertEquals("Cid", jobVariables.get("party", Party.class).name);
+    }
+
+    public static class Party {
+
+        public String name;
+    }
+}
@@ -0,0 +1,92 @@
+package org.mifos.connector.ams.zeebe;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the platform and virtual thread job executors on jobs/sec and resident memory. Each simulated job descends into a
+ * deep call stack, like a handler going through Camel and CXF, and then blocks for the time of a Fineract round trip.
+ *
+ * <p>
+ * Run with {@code ./gradlew loadTest}; results are logged, the memory figures are only meaningful on Linux.
+ */
+@Tag("load")
+public class JobWorkerExecutorsLoadTest {
+
+    private static final int MAX_CONCURRENT_JOBS = 1000;
+    private static final int JOBS = 20_000;
+    private static final int STACK_DEPTH = 300;
+    private static final long FINERACT_LATENCY_MS = 50;
+
+    public Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Test
+    public void platformThreads() throws Exception {
+        run("platform", JobWorkerExecutors.platformThreads(MAX_CONCURRENT_JOBS));
+    }
+
+    @Test
+    public void virtualThreads() throws Exception {
+        run("virtual", JobWorkerExecutors.virtualThreads(MAX_CONCURRENT_JOBS));
+    }
+
+    private void run(String mode, ScheduledExecutorService executor) throws Exception {
+        System.gc();
+        long rssBeforeKb = residentSetKb();
+        AtomicLong peakRssKb = new AtomicLong(rssBeforeKb);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakRssKb.accumulateAndGet(residentSetKb(), Math::max), 0, 20, TimeUnit.MILLISECONDS);
+
+        CountDownLatch finished = new CountDownLatch(JOBS);
+        long start = System.nanoTime();
+        for (int i = 0; i < JOBS; i++) {
+            executor.execute(() -> {
+                handle(STACK_DEPTH);
+                finished.countDown();
+            });
+        }
+        boolean completed = finished.await(5, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - start;
+
+        sampler.shutdownNow();
+        executor.shutdownNow();
+        assertTrue(completed, mode + " executor did not finish all jobs");
+
+        double jobsPerSecond = JOBS / (elapsedNanos / 1_000_000_000.0);
+        logger.info("{} threads: {} jobs in {} ms, {} jobs/sec, peak RSS growth {} MB", mode, JOBS,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(jobsPerSecond), (peakRssKb.get() - rssBeforeKb) / 1024);
+    }
+
+    private static int handle(int depth) {
+        if (depth == 0) {
+            try {
+                Thread.sleep(FINERACT_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 0;
+        }
+        return handle(depth - 1) + 1;
+    }
+
+    private static long residentSetKb() {
+        try {
+            return Files.readAllLines(Paths.get("/proc/self/status")).stream().filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D", ""))).findFirst().orElse(0L);
+        } catch (IOException | RuntimeException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.mifos.connector.ams.zeebe;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.camunda.zeebe.client.ZeebeClient;
+import io.camunda.zeebe.client.api.worker.JobWorker;
+import io.camunda.zeebe.gateway.protocol.GatewayGrpc;
+import io.camunda.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
+import io.camunda.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ActivateJobs requests per second against a gateway without jobs, for per-DFSP workers and for shared workers routed by the
+ * {@code dfspId} header. The fake gateway answers at once, as a broker with long polling disabled does. Workers poll every
+ * 50ms rather than the 1ms of the connector, so the in-process gateway is not CPU bound and the rate stays proportional.
+ *
+ * <p>
+ * Run with {@code ./gradlew loadTest}.
+ */
+@Tag("load")
+public class SharedWorkersGatewayLoadTest {
+
+    private static final List<String> DFSP_WORKERS = List.of(ZeebeeWorkers.WORKER_PAYER_LOCAL_QUOTE, ZeebeeWorkers.WORKER_PAYEE_QUOTE,
+            ZeebeeWorkers.WORKER_PAYEE_COMMIT_TRANSFER, ZeebeeWorkers.WORKER_PARTY_LOOKUP_LOCAL,
+            ZeebeeWorkers.WORKER_INTEROP_PARTY_REGISTRATION, ZeebeeWorkers.WORKER_PAYEE_DEPOSIT_TRANSFER,
+            ZeebeeWorkers.WORKER_PAYEE_LOAN_TRANSFER, ZeebeeWorkers.WORKER_ACCOUNT_IDENTIFIER);
+    private static final long MEASURE_MILLIS = 2000;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    public Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final LongAdder activateRequests = new LongAdder();
+    private Server gateway;
+    private ZeebeClient zeebeClient;
+
+    @BeforeEach
+    public void startGateway() throws Exception {
+        gateway = ServerBuilder.forPort(0).addService(new GatewayGrpc.GatewayImplBase() {
+
+            @Override
+            public void activateJobs(ActivateJobsRequest request, StreamObserver<ActivateJobsResponse> responseObserver) {
+                activateRequests.increment();
+                responseObserver.onCompleted();
+            }
+        }).build().start();
+        zeebeClient = ZeebeClient.newClientBuilder().gatewayAddress("localhost:" + gateway.getPort()).usePlaintext()
+                .defaultJobPollInterval(POLL_INTERVAL).defaultJobWorkerMaxJobsActive(1000).build();
+    }
+
+    @AfterEach
+    public void stopGateway() throws Exception {
+        zeebeClient.close();
+        gateway.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void gatewayRequestRateByDfspCount() throws Exception {
+        requestRate(List.of("warm-up")); // JIT and connection setup
+        logger.info("{} | {} | {}", "DFSPs", "per-DFSP workers req/s", "shared workers req/s");
+        for (int dfsps : new int[] { 1, 5, 20 }) {
+            List<String> perDfspTypes = new ArrayList<>();
+            for (int i = 0; i < dfsps; i++) {
+                for (String worker : DFSP_WORKERS) {
+                    perDfspTypes.add(worker + "dfsp" + i);
+                }
+            }
+            List<String> sharedTypes = new ArrayList<>();
+            for (String worker : DFSP_WORKERS) {
+                sharedTypes.add(worker.substring(0, worker.length() - 1));
+            }
+
+            double perDfsp = requestRate(perDfspTypes);
+            double shared = requestRate(sharedTypes);
+            logger.info("{} | {} | {}", dfsps, Math.round(perDfsp), Math.round(shared));
+            if (dfsps >= 5) {
+                assertTrue(shared < perDfsp, "shared workers should poll less than per-DFSP workers");
+            }
+        }
+    }
+
+    private double requestRate(List<String> jobTypes) throws InterruptedException {
+        List<JobWorker> workers = new ArrayList<>();
+        for (String jobType : jobTypes) {
+            workers.add(zeebeClient.newWorker().jobType(jobType).handler((client, job) -> {}).name(jobType).open());
+        }
+        Thread.sleep(200); // let every worker issue its first poll
+        long before = activateRequests.sum();
+        Thread.sleep(MEASURE_MILLIS);
+        long requests = activateRequests.sum() - before;
+        workers.forEach(JobWorker::close);
+        return requests * 1000.0 / MEASURE_MILLIS;
+    }
+}
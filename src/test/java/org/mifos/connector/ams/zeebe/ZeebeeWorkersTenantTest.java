@@ -0,0 +1,121 @@
+package org.mifos.connector.ams.zeebe;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mifos.connector.ams.zeebe.ZeebeVariables.LOCAL_QUOTE_FAILED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.camunda.zeebe.client.api.response.ActivatedJob;
+import io.camunda.zeebe.client.api.worker.JobClient;
+import io.camunda.zeebe.client.api.worker.JobHandler;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mifos.connector.ams.properties.Tenant;
+import org.mifos.connector.ams.properties.TenantProperties;
+import org.mifos.connector.ams.tenant.TenantRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Workers of a tenant added to the {@link TenantRegistry} after startup, with ams.local disabled so the payer local quote
+ * handler completes the job without calling Fineract.
+ */
+public class ZeebeeWorkersTenantTest {
+
+    private final Map<String, JobHandler> openedWorkers = new ConcurrentHashMap<>();
+    private JobCompletionService jobCompletionService;
+    private TenantRegistry tenantRegistry;
+    private ZeebeeWorkers zeebeeWorkers;
+
+    @BeforeEach
+    public void setup() {
+        TenantProperties tenantProperties = new TenantProperties();
+        tenantProperties.setTenants(List.of(tenant("tn01")));
+        tenantRegistry = new TenantRegistry();
+        ReflectionTestUtils.setField(tenantRegistry, "tenantProperties", tenantProperties);
+        tenantRegistry.setup();
+
+        AdaptiveActivationController activationController = mock(AdaptiveActivationController.class);
+        doAnswer(invocation -> openedWorkers.put(invocation.getArgument(0), invocation.getArgument(1))).when(activationController)
+                .register(anyString(), any(), any());
+        JobDrainManager jobDrainManager = mock(JobDrainManager.class);
+        when(jobDrainManager.track(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        JobBulkheads jobBulkheads = mock(JobBulkheads.class);
+        when(jobBulkheads.isolate(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        jobCompletionService = mock(JobCompletionService.class);
+
+        zeebeeWorkers = new ZeebeeWorkers();
+        ReflectionTestUtils.setField(zeebeeWorkers, "tenantRegistry", tenantRegistry);
+        ReflectionTestUtils.setField(zeebeeWorkers, "activationController", activationController);
+        ReflectionTestUtils.setField(zeebeeWorkers, "jobDrainManager", jobDrainManager);
+        ReflectionTestUtils.setField(zeebeeWorkers, "jobBulkheads", jobBulkheads);
+        ReflectionTestUtils.setField(zeebeeWorkers, "jobCompletionService", jobCompletionService);
+        ReflectionTestUtils.setField(zeebeeWorkers, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(zeebeeWorkers, "isZeebeEnabled", true);
+        ReflectionTestUtils.setField(zeebeeWorkers, "dfspids", List.of("tn01"));
+        ReflectionTestUtils.setField(zeebeeWorkers, "dfspHeader", "dfspId");
+    }
+
+    @Test
+    public void opensWorkersOfAddedTenant() throws Exception {
+        zeebeeWorkers.setupWorkers();
+        assertFalse(openedWorkers.containsKey(ZeebeeWorkers.WORKER_PAYER_LOCAL_QUOTE + "tn02"));
+
+        tenantRegistry.putTenant(tenant("tn02"));
+        JobHandler handler = openedWorkers.get(ZeebeeWorkers.WORKER_PAYER_LOCAL_QUOTE + "tn02");
+        assertNotNull(handler, "no worker opened for the added tenant");
+        handler.handle(mock(JobClient.class), job(42L, Map.of()));
+
+        verify(jobCompletionService).complete(eq(42L), argThat(variables -> Boolean.FALSE.equals(variables.get(LOCAL_QUOTE_FAILED))));
+    }
+
+    @Test
+    public void routesJobsOfAddedTenantOnSharedWorker() throws Exception {
+        ReflectionTestUtils.setField(zeebeeWorkers, "sharedWorkersEnabled", true);
+        zeebeeWorkers.setupWorkers();
+        String jobType = ZeebeeWorkers.WORKER_PAYER_LOCAL_QUOTE.substring(0, ZeebeeWorkers.WORKER_PAYER_LOCAL_QUOTE.length() - 1);
+        JobHandler sharedHandler = openedWorkers.get(jobType);
+
+        tenantRegistry.putTenant(tenant("tn02"));
+        JobClient client = mock(JobClient.class);
+        sharedHandler.handle(client, job(43L, Map.of("dfspId", "tn02")));
+
+        verify(jobCompletionService).complete(eq(43L), argThat(variables -> Boolean.FALSE.equals(variables.get(LOCAL_QUOTE_FAILED))));
+        verify(client, never()).newFailCommand(43L);
+    }
+
+    @Test
+    public void keepsWorkersOfChangedTenant() {
+        zeebeeWorkers.setupWorkers();
+        int opened = openedWorkers.size();
+
+        tenantRegistry.putTenant(tenant("tn01"));
+        assertFalse(openedWorkers.size() > opened, "workers of a known tenant opened again");
+    }
+
+    private static Tenant tenant(String name) {
+        Tenant tenant = new Tenant();
+        tenant.setName(name);
+        tenant.setAuthtype("basic");
+        return tenant;
+    }
+
+    private static ActivatedJob job(long key, Map<String, String> customHeaders) {
+        ActivatedJob job = mock(ActivatedJob.class);
+        when(job.getKey()).thenReturn(key);
+        when(job.getType()).thenReturn("payer-local-quote");
+        when(job.getCustomHeaders()).thenReturn(customHeaders);
+        return job;
+    }
+}